@@ -0,0 +1,105 @@
+package com.hanoi.bench;
+
+import com.hanoi.db.DatabaseManager;
+import com.hanoi.db.ScoreStore;
+import com.hanoi.model.Difficulty;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the score database against a scratch SQLite file seeded with {@link #rows} scores.
+ * Each fork is a fresh JVM, so the {@link DatabaseManager} singleton always opens the scratch file.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private Path dir;
+    private DatabaseManager dbManager;
+    private ScoreStore.Cursor middle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        dir = Files.createTempDirectory("hanoi-bench");
+        String url = "jdbc:sqlite:" + dir.resolve("scores.db");
+        System.setProperty("hanoi.db.url", url);
+        dbManager = DatabaseManager.getInstance();
+        seed(url);
+        middle = new ScoreStore.Cursor(50.0, rows / 2);
+    }
+
+    private void seed(String url) throws SQLException {
+        SplittableRandom random = new SplittableRandom(7);
+        Difficulty[] levels = {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD};
+        try (Connection conn = DriverManager.getConnection(url);
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT INTO scores(name, difficulty, disks, moves, score) VALUES(?, ?, ?, ?, ?)")) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < rows; i++) {
+                Difficulty difficulty = levels[i % levels.length];
+                long minMoves = (1L << difficulty.getDisks()) - 1;
+                long moves = minMoves + random.nextInt(200);
+                pstmt.setString(1, "player" + random.nextInt(500));
+                pstmt.setString(2, difficulty.name());
+                pstmt.setInt(3, difficulty.getDisks());
+                pstmt.setLong(4, moves);
+                pstmt.setDouble(5, (double) minMoves / moves * 100.0);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void addScore() {
+        dbManager.addScore("bench", Difficulty.MEDIUM, Difficulty.MEDIUM.getDisks(), 20, 75.0);
+    }
+
+    @Benchmark
+    public List<ScoreStore.ScoreRecord> getTopScores() {
+        return dbManager.getTopScores();
+    }
+
+    @Benchmark
+    public double getBestScore() {
+        return dbManager.getBestScore(Difficulty.HARD);
+    }
+
+    @Benchmark
+    public ScoreStore.Page leaderboardPage() {
+        return dbManager.getLeaderboardPage(Difficulty.HARD, middle, 20);
+    }
+
+    @Benchmark
+    public List<ScoreStore.ScoreRecord> playerHistory() {
+        return dbManager.getPlayerHistory("player42", 20);
+    }
+}
\ No newline at end of file
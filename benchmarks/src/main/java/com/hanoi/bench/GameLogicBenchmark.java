@@ -0,0 +1,75 @@
+package com.hanoi.bench;
+
+import com.hanoi.model.Difficulty;
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.Moves;
+import com.hanoi.model.OptimalSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move throughput of the game model and the cost of playing whole games at each built-in difficulty.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLogicBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD"})
+    public Difficulty difficulty;
+
+    private GameLogic logic;
+    private int[] solution;
+
+    @Setup
+    public void setUp() {
+        logic = new GameLogic(difficulty.getDisks());
+        OptimalSolver solver = new OptimalSolver(difficulty.getDisks());
+        solution = solver.stream().toArray();
+    }
+
+    @Benchmark
+    public boolean canMove() {
+        return logic.canMove(0, 1) & logic.canMove(1, 2) & logic.canMove(2, 0);
+    }
+
+    /** The smallest disk shuttles between pegs A and B and back, so the board never drifts. */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public long moveRoundTrip() {
+        logic.move(0, 1);
+        logic.move(1, 0);
+        return logic.getMoves();
+    }
+
+    /** Full optimal game from reset to solved. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean playOptimalGame() {
+        logic.reset();
+        for (int move : solution) {
+            logic.move(Moves.from(move), Moves.to(move));
+        }
+        return logic.isSolved();
+    }
+
+    /** Full game with moves generated on the fly instead of from a precomputed list. */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean playStreamedGame() {
+        logic.reset();
+        PrimitiveIterator.OfInt moves = new OptimalSolver(difficulty.getDisks()).iterator();
+        while (moves.hasNext()) {
+            int move = moves.nextInt();
+            logic.move(Moves.from(move), Moves.to(move));
+        }
+        return logic.isSolved();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.hanoi.bench;
+
+import com.hanoi.db.ScoreJournal;
+import com.hanoi.db.ScoreStore;
+import com.hanoi.model.Difficulty;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link DatabaseBenchmark} operations against a scratch {@link ScoreJournal} seeded with the same
+ * scores, plus how long reopening it takes to rebuild its indexes.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreJournalBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean sync;
+
+    private Path dir;
+    private ScoreJournal journal;
+    private ScoreStore.Cursor middle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("hanoi-bench");
+        journal = new ScoreJournal(dir.resolve("scores.journal"), sync);
+        seed();
+        middle = new ScoreStore.Cursor(50.0, rows / 2);
+    }
+
+    private void seed() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        Difficulty[] levels = {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD};
+        List<ScoreStore.ScoreSubmission> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Difficulty difficulty = levels[i % levels.length];
+            long minMoves = (1L << difficulty.getDisks()) - 1;
+            long moves = minMoves + random.nextInt(200);
+            batch.add(new ScoreStore.ScoreSubmission("player" + random.nextInt(500), difficulty,
+                    difficulty.getDisks(), moves, (double) minMoves / moves * 100.0));
+            if (batch.size() == 10_000 || i == rows - 1) {
+                journal.addScores(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void addScore() {
+        journal.addScore("bench", Difficulty.MEDIUM, Difficulty.MEDIUM.getDisks(), 20, 75.0);
+    }
+
+    @Benchmark
+    public List<ScoreStore.ScoreRecord> getTopScores() {
+        return journal.getTopScores();
+    }
+
+    @Benchmark
+    public double getBestScore() {
+        return journal.getBestScore(Difficulty.HARD);
+    }
+
+    @Benchmark
+    public ScoreStore.Page leaderboardPage() {
+        return journal.getLeaderboardPage(Difficulty.HARD, middle, 20);
+    }
+
+    @Benchmark
+    public List<ScoreStore.ScoreRecord> playerHistory() {
+        return journal.getPlayerHistory("player42", 20);
+    }
+
+    /** Closes and reopens the journal, which scans the whole file to rebuild the indexes. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int reopen() throws IOException {
+        journal.close();
+        journal = new ScoreJournal(dir.resolve("scores.journal"), sync);
+        return journal.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.hanoi.bench;
+
+import com.hanoi.model.BitBoard;
+import com.hanoi.model.FrameStewartSolver;
+import com.hanoi.model.MoveRule;
+import com.hanoi.model.OptimalSolver;
+import com.hanoi.model.PositionAnalyzer;
+import com.hanoi.model.StateSpaceExplorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solvers, seeking and position analysis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    private static final int SEEK_DISKS = 40;
+    private static final int STREAM_DISKS = 20;
+
+    private OptimalSolver seekSolver;
+    private OptimalSolver streamSolver;
+    private BitBoard board;
+    private BitBoard randomPosition;
+    private long[] seekTargets;
+    private int seekIndex;
+
+    @Setup
+    public void setUp() {
+        seekSolver = new OptimalSolver(SEEK_DISKS);
+        streamSolver = new OptimalSolver(STREAM_DISKS);
+        board = new BitBoard(3, SEEK_DISKS);
+
+        SplittableRandom random = new SplittableRandom(42);
+        seekTargets = new long[1024];
+        for (int i = 0; i < seekTargets.length; i++) {
+            seekTargets[i] = random.nextLong(seekSolver.getMoveCount());
+        }
+        randomPosition = new BitBoard(3, SEEK_DISKS);
+        for (int disk = 1; disk <= SEEK_DISKS; disk++) {
+            randomPosition.place(disk, random.nextInt(3));
+        }
+    }
+
+    private long nextTarget() {
+        seekIndex = (seekIndex + 1) & (seekTargets.length - 1);
+        return seekTargets[seekIndex];
+    }
+
+    @Benchmark
+    public int moveAt() {
+        return seekSolver.moveAt(nextTarget());
+    }
+
+    @Benchmark
+    public long stateAt() {
+        seekSolver.stateAt(nextTarget(), board);
+        return board.mask(2);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long streamSequential() {
+        return streamSolver.stream().asLongStream().sum();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long streamParallel() {
+        return streamSolver.parallelStream().asLongStream().sum();
+    }
+
+    @Benchmark
+    public long distanceToGoal() {
+        return PositionAnalyzer.distanceToGoal(randomPosition);
+    }
+
+    @Benchmark
+    public int nextMove() {
+        return PositionAnalyzer.nextMove(randomPosition);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long frameStewartTable() {
+        return new FrameStewartSolver(BitBoard.MAX_DISKS, FrameStewartSolver.MAX_PEGS).minMoves(BitBoard.MAX_DISKS, 4);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long frameStewartGame() {
+        long sum = 0;
+        var moves = FrameStewartSolver.getInstance().moves(16, 5);
+        while (moves.hasNext()) {
+            sum += moves.nextInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long exploreTwelveDisks() {
+        StateSpaceExplorer explorer = new StateSpaceExplorer(12, MoveRule.STANDARD);
+        BitBoard start = new BitBoard(3, 12);
+        BitBoard goal = new BitBoard(3, 12);
+        for (int disk = 1; disk <= 12; disk++) {
+            goal.place(disk, 2);
+        }
+        return explorer.distance(start, goal);
+    }
+}
\ No newline at end of file
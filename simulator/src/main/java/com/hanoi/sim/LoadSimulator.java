@@ -0,0 +1,269 @@
+package com.hanoi.sim;
+
+import com.hanoi.db.LeaderboardCache;
+import com.hanoi.db.ScoreStore;
+import com.hanoi.db.ScoreStore.ScoreSubmission;
+import com.hanoi.db.ScoreWriter;
+import com.hanoi.metrics.LatencyHistogram;
+import com.hanoi.model.Difficulty;
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.MoveLog;
+import com.hanoi.model.Moves;
+import com.hanoi.util.Threads;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulates many concurrent players without a UI. Each player runs on its own (virtual, where available)
+ * thread, plays whole games through {@link GameLogic}, submits them the same way the game does, and reads
+ * the leaderboard a configurable number of times per game. Every database call goes through the shared
+ * {@code getInstance()} singletons, so their locking is part of what is measured.
+ *
+ * <p>Prints throughput every few seconds and, at the end, latency percentiles per operation.
+ */
+public final class LoadSimulator {
+
+    private static final String USAGE = """
+            Usage: java -jar simulator.jar [options]
+              -players N     concurrent players (default 100)
+              -duration S    seconds to run (default 10)
+              -games N       stop each player after N games (default: no limit)
+              -disks N       disks per game (default 10)
+              -strategy S    optimal, random or noisy (default noisy)
+              -noise P       chance of a random move for noisy players (default 0.05)
+              -maxMoves N    abandon a game after N moves (default 100 times the minimum)
+              -reads R       leaderboard reads per finished game (default 1.0)
+              -readFrom S    db (the score store) or cache (default db)
+              -writes S      batched (ScoreWriter) or direct (ScoreStore) (default batched)
+              -think MS      pause between games in milliseconds (default 0)
+              -store S       sqlite or journal (default sqlite)
+              -db URL        JDBC URL of the score database (default jdbc:sqlite:simulation.db)
+              -journal FILE  score journal for -store journal (default simulation.journal)
+              -seed N        random seed (default 42)
+            """;
+
+    private final int players;
+    private final long durationNanos;
+    private final long gamesPerPlayer;
+    private final int disks;
+    private final Difficulty difficulty;
+    private final Strategy strategy;
+    private final String strategyName;
+    private final long maxMoves;
+    private final double readsPerGame;
+    private final boolean readFromCache;
+    private final boolean batchedWrites;
+    private final long thinkMillis;
+    private final long seed;
+
+    private final LatencyHistogram playLatency = new LatencyHistogram();
+    private final LatencyHistogram submitLatency = new LatencyHistogram();
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final AtomicLong abandoned = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong moves = new AtomicLong();
+    private volatile boolean running = true;
+
+    private LoadSimulator(Options options) {
+        this.players = options.intValue("players", 100);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(options.intValue("duration", 10));
+        this.gamesPerPlayer = options.longValue("games", Long.MAX_VALUE);
+        this.disks = options.intValue("disks", 10);
+        this.difficulty = Difficulty.forDisks(disks);
+        this.strategyName = options.value("strategy", "noisy");
+        this.strategy = Strategy.parse(strategyName, options.doubleValue("noise", 0.05));
+        this.maxMoves = options.longValue("maxMoves", 100 * GameLogic.minMoves(disks));
+        this.readsPerGame = options.doubleValue("reads", 1.0);
+        this.readFromCache = "cache".equals(options.value("readFrom", "db"));
+        this.batchedWrites = !"direct".equals(options.value("writes", "batched"));
+        this.thinkMillis = options.longValue("think", 0);
+        this.seed = options.longValue("seed", 42);
+        if (players < 1 || disks < 1 || disks > 30) {
+            throw new IllegalArgumentException("Need at least one player and 1 to 30 disks");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options = Options.parse(args);
+        if (options == null) {
+            System.out.print(USAGE);
+            return;
+        }
+        // Must be set before anything touches ScoreStore.getInstance()
+        System.setProperty("hanoi.store", options.value("store", "sqlite"));
+        System.setProperty("hanoi.db.url", options.value("db", "jdbc:sqlite:simulation.db"));
+        System.setProperty("hanoi.journal.file", options.value("journal", "simulation.journal"));
+        new LoadSimulator(options).run();
+    }
+
+    private void run() throws InterruptedException {
+        System.out.printf("%d players, %d disks, %s strategy, %.1f reads/game from %s, %s writes to %s, %s threads%n",
+                players, disks, strategyName, readsPerGame, readFromCache ? "cache" : "db",
+                batchedWrites ? "batched" : "direct", System.getProperty("hanoi.store"),
+                Threads.virtualThreadsAvailable() ? "virtual" : "platform");
+        // Open the store and warm the cache before the clock starts
+        ScoreStore.getInstance();
+        if (readFromCache) LeaderboardCache.getInstance();
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        ExecutorService executor = Threads.newPerTaskExecutor("player");
+        for (int i = 0; i < players; i++) {
+            String name = "sim-" + i;
+            SplittableRandom random = seeds.split();
+            executor.execute(() -> play(name, random, deadline));
+        }
+        executor.shutdown();
+
+        long lastGames = 0;
+        long lastMoves = 0;
+        long lastReport = start;
+        while (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            long now = System.nanoTime();
+            long games = submitLatency.getCount();
+            long played = moves.get();
+            double interval = (now - lastReport) / 1e9;
+            System.out.printf("%5.0fs  %,10.0f games/s  %,12.0f moves/s%n",
+                    (now - start) / 1e9, (games - lastGames) / interval, (played - lastMoves) / interval);
+            lastGames = games;
+            lastMoves = played;
+            lastReport = now;
+            if (now - deadline > TimeUnit.SECONDS.toNanos(30)) {
+                running = false; // Players stuck in long games; stop them
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (batchedWrites) {
+            long flushStart = System.nanoTime();
+            ScoreWriter.getInstance().close();
+            System.out.printf("Flushed queued scores in %.1f ms%n", (System.nanoTime() - flushStart) / 1e6);
+        }
+        report(elapsed);
+        ScoreStore.getInstance().close();
+    }
+
+    private void play(String name, SplittableRandom random, long deadline) {
+        long games = 0;
+        while (running && games < gamesPerPlayer && System.nanoTime() < deadline) {
+            long started = System.nanoTime();
+            GameLogic logic = new GameLogic(disks);
+            while (running && !logic.isSolved() && logic.getMoves() < maxMoves) {
+                int move = strategy.nextMove(logic, random);
+                logic.move(Moves.from(move), Moves.to(move));
+            }
+            moves.addAndGet(logic.getMoves());
+            playLatency.record(System.nanoTime() - started);
+            if (!logic.isSolved()) {
+                abandoned.incrementAndGet();
+                continue;
+            }
+            games++;
+            submit(name, logic);
+
+            long reads = (long) readsPerGame + (random.nextDouble() < readsPerGame % 1 ? 1 : 0);
+            for (long i = 0; i < reads; i++) {
+                readLeaderboard();
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void submit(String name, GameLogic logic) {
+        // Noisy games on many disks can outgrow the log; a truncated one would fail verification
+        MoveLog log = logic.getMoveLog();
+        ScoreSubmission submission = new ScoreSubmission(name, difficulty,
+                disks, logic.getMoves(), logic.calculateScore(), log.isComplete() ? log.toBytes() : null);
+        long started = System.nanoTime();
+        try {
+            if (batchedWrites) {
+                ScoreWriter.getInstance().submit(submission);
+            } else {
+                ScoreStore.getInstance().addScores(List.of(submission));
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+        }
+        submitLatency.record(System.nanoTime() - started);
+    }
+
+    private void readLeaderboard() {
+        long started = System.nanoTime();
+        if (readFromCache) {
+            LeaderboardCache.getInstance().getTopScores(difficulty, 5);
+        } else {
+            ScoreStore.getInstance().getTopScores(difficulty, 5);
+        }
+        readLatency.record(System.nanoTime() - started);
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long games = submitLatency.getCount();
+        System.out.printf("%nRan %.1f s: %,d games (%,.0f/s), %,d abandoned, %,d failed submits, %,d reads (%,.0f/s), %,d moves (%,.0f/s)%n",
+                seconds, games, games / seconds, abandoned.get(), failures.get(),
+                readLatency.getCount(), readLatency.getCount() / seconds, moves.get(), moves.get() / seconds);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", "(us)", "mean", "p50", "p90", "p99", "p99.9", "max");
+        printLatency("play", playLatency);
+        printLatency("submit", submitLatency);
+        printLatency("read", readLatency);
+    }
+
+    private static void printLatency(String name, LatencyHistogram histogram) {
+        System.out.printf("%-8s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", name,
+                histogram.getMean() / 1e3,
+                histogram.percentile(0.50) / 1e3,
+                histogram.percentile(0.90) / 1e3,
+                histogram.percentile(0.99) / 1e3,
+                histogram.percentile(0.999) / 1e3,
+                histogram.getMax() / 1e3);
+    }
+
+    /** "-name value" pairs from the command line. */
+    private static final class Options {
+        private final Map<String, String> values = new HashMap<>();
+
+        /** Returns null if help was asked for. */
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("-help") || arg.equals("-h")) return null;
+                if (!arg.startsWith("-") || i + 1 == args.length) {
+                    throw new IllegalArgumentException("Expected -name value, got: " + arg);
+                }
+                options.values.put(arg.substring(1), args[++i]);
+            }
+            return options;
+        }
+
+        String value(String name, String fallback) {
+            return values.getOrDefault(name, fallback);
+        }
+
+        int intValue(String name, int fallback) {
+            return values.containsKey(name) ? Integer.parseInt(values.get(name)) : fallback;
+        }
+
+        long longValue(String name, long fallback) {
+            return values.containsKey(name) ? Long.parseLong(values.get(name)) : fallback;
+        }
+
+        double doubleValue(String name, double fallback) {
+            return values.containsKey(name) ? Double.parseDouble(values.get(name)) : fallback;
+        }
+    }
+}
\ No newline at end of file
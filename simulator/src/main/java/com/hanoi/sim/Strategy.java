@@ -0,0 +1,59 @@
+package com.hanoi.sim;
+
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.Moves;
+import com.hanoi.model.PositionAnalyzer;
+
+import java.util.SplittableRandom;
+
+/** How a simulated player picks its next move on a three-peg board. */
+public interface Strategy {
+
+    /** Next move as a {@link Moves} code; only called while the game is unsolved. */
+    int nextMove(GameLogic logic, SplittableRandom random);
+
+    /** Always plays the optimal move, finishing in the minimum number of moves. */
+    static Strategy optimal() {
+        return (logic, random) -> PositionAnalyzer.nextMove(logic);
+    }
+
+    /** Picks uniformly among the legal moves. Only finishes in reasonable time for small boards. */
+    static Strategy randomLegal() {
+        return Strategy::randomMove;
+    }
+
+    /** Plays a random legal move with probability {@code noise} and the optimal move otherwise. */
+    static Strategy noisyOptimal(double noise) {
+        if (noise < 0 || noise > 1) {
+            throw new IllegalArgumentException("Noise must be between 0 and 1: " + noise);
+        }
+        return (logic, random) -> random.nextDouble() < noise
+                ? randomMove(logic, random)
+                : PositionAnalyzer.nextMove(logic);
+    }
+
+    /** Parses "optimal", "random" or "noisy"; {@code noise} only applies to the last. */
+    static Strategy parse(String name, double noise) {
+        return switch (name) {
+            case "optimal" -> optimal();
+            case "random" -> randomLegal();
+            case "noisy" -> noisyOptimal(noise);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+
+    private static int randomMove(GameLogic logic, SplittableRandom random) {
+        int pegs = logic.getPegCount();
+        int legal = 0;
+        int chosen = Moves.NONE;
+        // Reservoir sampling over the legal moves, so nothing is allocated
+        for (int from = 0; from < pegs; from++) {
+            for (int to = 0; to < pegs; to++) {
+                if (from != to && logic.canMove(from, to) && random.nextInt(++legal) == 0) {
+                    chosen = Moves.encode(from, to);
+                }
+            }
+        }
+        return chosen;
+    }
+}
\ No newline at end of file
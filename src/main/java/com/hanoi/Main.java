@@ -2,16 +2,36 @@ package com.hanoi;
 
 import com.hanoi.controller.GameController;
 import com.hanoi.controller.WelcomeController;
+import com.hanoi.db.LeaderboardCache;
+import com.hanoi.db.ScoreDistribution;
+import com.hanoi.db.ScoreStore;
+import com.hanoi.db.ScoreWriter;
+import com.hanoi.metrics.MetricsReporter;
+import com.hanoi.metrics.SceneEvent;
 import com.hanoi.model.Difficulty;
+import com.hanoi.util.Threads;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 public class Main extends Application {
 
     private Stage primaryStage;
+    private Scene scene;
+    // Both screens are built once and reset on every visit
+    private WelcomeController welcomeController;
+    private GameController gameController;
     private static Main instance;
+    private MetricsReporter metricsReporter;
+    private CompletableFuture<ScoreWriter> scoreWriter;
+    private CompletableFuture<LeaderboardCache> leaderboard;
+    private CompletableFuture<ScoreDistribution> scoreDistribution;
 
     // Dark theme colors consistent with the web app (Slate 900)
     public static final String BG_COLOR = "#0f172a";
@@ -24,71 +44,107 @@ public class Main extends Application {
         instance = this;
         this.primaryStage = primaryStage;
         this.primaryStage.setTitle("Tower of Hanoi");
+        // Periodic metrics snapshots when -Dhanoi.metrics.file is set
+        metricsReporter = MetricsReporter.fromSystemProperties();
+
+        // Opening the database and warming the leaderboard takes longer than the first frame, so it runs in
+        // the background and the welcome screen fills in the scores when they arrive
+        ExecutorService startup = Threads.newPerTaskExecutor("startup");
+        // Every lookup that opens the store happens here, never on the FX thread
+        scoreWriter = CompletableFuture.supplyAsync(ScoreWriter::getInstance, startup);
+        leaderboard = CompletableFuture.supplyAsync(LeaderboardCache::getInstance, startup);
+        // Scanning every score takes longest of all; nothing waits on it but the percentiles and the chart
+        scoreDistribution = CompletableFuture.supplyAsync(ScoreDistribution::getInstance, startup);
+        startup.shutdown();
 
         showWelcomeScreen();
 
         this.primaryStage.show();
+
+        if (Boolean.getBoolean("hanoi.trainingRun")) {
+            // Used by the appcds build profile: load everything a normal session loads, then quit
+            leaderboard.whenComplete((cache, error) -> Platform.runLater(() -> {
+                showGameScreen("training", Difficulty.EASY);
+                Platform.runLater(Platform::exit);
+            }));
+        }
+    }
+
+    @Override
+    public void stop() {
+        // Flush queued scores before the connections go away. Only what startup finished opening is closed;
+        // quitting during warm-up leaves a writer opened later to its own shutdown hook.
+        if (scoreWriter != null && scoreWriter.isDone() && !scoreWriter.isCompletedExceptionally()) {
+            scoreWriter.join().close();
+            // Already open, since the writer was built on it
+            ScoreStore.getInstance().close();
+        }
+        if (metricsReporter != null) {
+            metricsReporter.close();
+        }
     }
 
     public static Main getInstance() {
         return instance;
     }
 
+    /** Completes once the score database is open and the leaderboard cache is warm. */
+    public CompletableFuture<LeaderboardCache> getLeaderboard() {
+        return leaderboard;
+    }
+
+    /** Completes once the score database is open and the background writer is running. */
+    public CompletableFuture<ScoreWriter> getScoreWriter() {
+        return scoreWriter;
+    }
+
+    /** Completes once every stored score has been read into the score distribution. */
+    public CompletableFuture<ScoreDistribution> getScoreDistribution() {
+        return scoreDistribution;
+    }
+
     public void showWelcomeScreen() {
-        WelcomeController welcomeController = new WelcomeController(this);
-        Scene scene = new Scene(welcomeController.getView(), 900, 600);
-        applyStyles(scene);
-        primaryStage.setScene(scene);
+        SceneEvent event = new SceneEvent(SceneEvent.Scene.WELCOME);
+        if (welcomeController == null) {
+            welcomeController = new WelcomeController(this);
+        } else {
+            welcomeController.refresh();
+        }
+        show(welcomeController.getView());
+        event.finish();
     }
 
     public void showGameScreen(String playerName, Difficulty difficulty) {
-        GameController gameController = new GameController(this, playerName, difficulty);
-        Scene scene = new Scene(gameController.getView(), 1024, 768);
-        applyStyles(scene);
-        primaryStage.setScene(scene);
+        showGameScreen(playerName, difficulty, difficulty.getDisks());
+    }
+
+    public void showGameScreen(String playerName, Difficulty difficulty, int disks) {
+        showGameScreen(playerName, difficulty, disks, 3);
+    }
+
+    public void showGameScreen(String playerName, Difficulty difficulty, int disks, int pegs) {
+        SceneEvent event = new SceneEvent(SceneEvent.Scene.GAME);
+        if (gameController == null) {
+            gameController = new GameController(this, playerName, difficulty, disks, pegs);
+        } else {
+            gameController.newGame(playerName, difficulty, disks, pegs);
+        }
+        show(gameController.getView());
+        event.finish();
     }
 
-    private void applyStyles(Scene scene) {
-        scene.setFill(Color.web(BG_COLOR));
-        // Global CSS for components
-        String css = """
-            .root { -fx-background-color: #0f172a; -fx-font-family: 'Segoe UI', sans-serif; }
-            .label { -fx-text-fill: #f8fafc; }
-            .button {
-                -fx-background-color: #334155;
-                -fx-text-fill: white;
-                -fx-background-radius: 8;
-                -fx-padding: 10 20;
-                -fx-cursor: hand;
-                -fx-font-weight: bold;
-            }
-            .button:hover { -fx-background-color: #475569; }
-            .button:disabled { -fx-opacity: 0.5; }
-            .primary-button { -fx-background-color: #10b981; }
-            .primary-button:hover { -fx-background-color: #059669; }
-            .accent-button { -fx-background-color: #7c3aed; }
-            .accent-button:hover { -fx-background-color: #6d28d9; }
-            .text-field {
-                -fx-background-color: #1e293b;
-                -fx-text-fill: white;
-                -fx-border-color: #475569;
-                -fx-border-radius: 4;
-                -fx-background-radius: 4;
-            }
-            .list-cell {
-                -fx-background-color: transparent;
-                -fx-text-fill: white;
-                -fx-padding: 5;
-            }
-            .list-view {
-                -fx-background-color: #1e293b;
-                -fx-control-inner-background: #1e293b;
-                -fx-background-radius: 8;
-            }
-        """;
-        if (scene.getStylesheets().isEmpty()) {
-            // In a real app, load from file. Here we inject inline for portability.
-            scene.getStylesheets().add("data:text/css," + css.replace("\n", "").replace(" ", "%20"));
+    /**
+     * Puts {@code root} in the window. The first call creates the only scene, and with it the one parsed copy
+     * of the stylesheet; later calls just swap the root.
+     */
+    private void show(Parent root) {
+        if (scene == null) {
+            scene = new Scene(root, 1024, 768);
+            scene.setFill(Color.web(BG_COLOR));
+            scene.getStylesheets().add(Main.class.getResource("hanoi.css").toExternalForm());
+            primaryStage.setScene(scene);
+        } else {
+            scene.setRoot(root);
         }
     }
 
@@ -0,0 +1,83 @@
+package com.hanoi.controller;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Peg and disk geometry shared by the board renderers. Disks keep their full height on small boards and
+ * shrink so that even 64 disks fit on one pole.
+ */
+final class BoardLayout {
+
+    static final double AREA_WIDTH = 984; // approximate, based on scene width - padding
+    static final double AREA_HEIGHT = 600;
+
+    private static final double PEG_WIDTH = 15;
+    private static final double PEG_HEIGHT = 200;
+    private static final double DISK_HEIGHT = 25;
+    private static final double DISK_GAP = 2;
+    private static final double MAX_STACK_HEIGHT = 500;
+    private static final double BASE_WIDTH = 250;
+    private static final double MIN_DISK_WIDTH = 60;
+    private static final double MAX_DISK_WIDTH = 200;
+
+    // Colors for disks (from smallest index to largest)
+    private static final Color[] DISK_COLORS = {
+            Color.web("#ef4444"), // Red
+            Color.web("#f97316"), // Orange
+            Color.web("#fbbf24"), // Amber
+            Color.web("#10b981"), // Emerald
+            Color.web("#06b6d4"), // Cyan
+            Color.web("#3b82f6"), // Blue
+            Color.web("#8b5cf6")  // Purple
+    };
+
+    final int pegCount;
+    final int totalDisks;
+    final double pegSpacing;
+    final double pegWidth = PEG_WIDTH;
+    final double baseWidth;
+    final double bottomY;
+    final double diskHeight;
+    final double poleHeight;
+    private final double diskPitch;
+    private final double minDiskWidth;
+    private final double maxDiskWidth;
+
+    BoardLayout(int pegCount, int totalDisks) {
+        this.pegCount = pegCount;
+        this.totalDisks = totalDisks;
+        this.pegSpacing = AREA_WIDTH / pegCount;
+        // Narrow the pegs and disks when more than 3 pegs share the area
+        this.baseWidth = Math.min(BASE_WIDTH, pegSpacing - 20);
+        this.maxDiskWidth = Math.min(MAX_DISK_WIDTH, baseWidth - 10);
+        this.minDiskWidth = Math.min(MIN_DISK_WIDTH, maxDiskWidth / 2);
+        this.bottomY = AREA_HEIGHT - 50;
+
+        this.diskPitch = Math.min(DISK_HEIGHT + DISK_GAP, MAX_STACK_HEIGHT / totalDisks);
+        this.diskHeight = diskPitch * DISK_HEIGHT / (DISK_HEIGHT + DISK_GAP);
+        this.poleHeight = Math.max(PEG_HEIGHT, Math.min(MAX_STACK_HEIGHT, totalDisks * diskPitch) + 20);
+    }
+
+    double pegCenter(int peg) {
+        return (peg * pegSpacing) + (pegSpacing / 2);
+    }
+
+    /** Peg whose column contains {@code x}, or -1 if {@code x} is outside the board. */
+    int pegAt(double x) {
+        if (x < 0 || x >= AREA_WIDTH) return -1;
+        return Math.min(pegCount - 1, (int) (x / pegSpacing));
+    }
+
+    double diskWidth(int diskSize) {
+        return minDiskWidth + ((double) (diskSize - 1) / totalDisks) * (maxDiskWidth - minDiskWidth);
+    }
+
+    /** Top edge of the disk at {@code level} on a peg. Tower grows up, level 0 is bottom. */
+    double diskY(int level) {
+        return bottomY - ((level + 1) * diskPitch);
+    }
+
+    static Color diskColor(int diskSize) {
+        return DISK_COLORS[(diskSize - 1) % DISK_COLORS.length];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.hanoi.controller;
+
+import javafx.scene.Node;
+
+/**
+ * Draws the pegs and disks of a game and turns the player's drags into moves. The controller forwards
+ * board changes; after every move made by the player the renderer runs the callback it was created with.
+ */
+interface BoardRenderer {
+
+    Node getNode();
+
+    /** Updates the drawing after a single move. */
+    void diskMoved(int disk, int fromIndex, int toIndex);
+
+    /** Redraws every disk from the current state, e.g. after a reset or a batch of moves. */
+    void sync();
+
+    /**
+     * Drops any disk the player is dragging without moving it, before the board is changed by anything
+     * other than that drag. Renderers whose drags cannot outlive such a change do nothing.
+     */
+    default void cancelDrag() {}
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.hanoi.controller;
+
+import com.hanoi.metrics.DropEvent;
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.TowerView;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Draws the whole board onto one {@link Canvas}, so the scene graph stays the same size whatever the disk
+ * count. A move repaints only the two pegs involved. Drags are hit-tested against the top disk of each
+ * peg from the pointer coordinates.
+ */
+final class CanvasBoardRenderer implements BoardRenderer {
+
+    private static final Color PEG_COLOR = Color.web("#475569");
+    private static final Color DISK_STROKE = Color.WHITE.deriveColor(0, 1, 1, 0.2);
+
+    private final GameLogic logic;
+    private final Runnable onMoved;
+    private final BoardLayout layout;
+    private final Canvas canvas = new Canvas(BoardLayout.AREA_WIDTH, BoardLayout.AREA_HEIGHT);
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+
+    // Peg the dragged disk was picked up from, or -1; the disk follows the pointer until released
+    private int dragPeg = -1;
+    private double dragX;
+    private double dragY;
+
+    CanvasBoardRenderer(GameLogic logic, Runnable onMoved) {
+        this.logic = logic;
+        this.onMoved = onMoved;
+        this.layout = new BoardLayout(logic.getPegCount(), logic.getTotalDisks());
+        gc.setFont(Font.font(24));
+        gc.setLineWidth(1);
+
+        canvas.setOnMouseMoved(e -> canvas.setCursor(topDiskAt(e.getX(), e.getY()) >= 0 ? Cursor.HAND : Cursor.DEFAULT));
+        canvas.setOnMousePressed(this::pickUp);
+        canvas.setOnMouseDragged(e -> {
+            if (dragPeg < 0) return;
+            dragX = e.getX();
+            dragY = e.getY();
+            sync();
+        });
+        canvas.setOnMouseReleased(this::drop);
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public void diskMoved(int disk, int fromIndex, int toIndex) {
+        drawPeg(fromIndex);
+        drawPeg(toIndex);
+    }
+
+    @Override
+    public void sync() {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int peg = 0; peg < layout.pegCount; peg++) {
+            drawPeg(peg);
+        }
+        if (dragPeg >= 0) {
+            int disk = logic.getTower(dragPeg).peek();
+            double width = layout.diskWidth(disk);
+            drawDisk(disk, dragX - (width / 2), dragY - (layout.diskHeight / 2));
+        }
+    }
+
+    /** Puts the dragged disk back on its peg; the release that follows is ignored. */
+    @Override
+    public void cancelDrag() {
+        if (dragPeg < 0) return;
+        dragPeg = -1;
+        canvas.setCursor(Cursor.DEFAULT);
+        sync();
+    }
+
+    private void drawPeg(int peg) {
+        double centerX = layout.pegCenter(peg);
+        double bottomY = layout.bottomY;
+        gc.clearRect(peg * layout.pegSpacing, 0, layout.pegSpacing, canvas.getHeight());
+
+        gc.setFill(PEG_COLOR);
+        gc.fillRoundRect(centerX - (layout.baseWidth / 2), bottomY, layout.baseWidth, 20, 10, 10);
+        gc.fillRoundRect(centerX - (layout.pegWidth / 2), bottomY - layout.poleHeight, layout.pegWidth, layout.poleHeight, 10, 10);
+        gc.setFill(Color.GRAY);
+        gc.fillText(String.valueOf((char)('A' + peg)), centerX - 7, bottomY + 50);
+
+        TowerView tower = logic.getTower(peg);
+        // The disk being dragged is drawn at the pointer instead
+        int size = peg == dragPeg ? tower.size() - 1 : tower.size();
+        for (int j = 0; j < size; j++) {
+            int disk = tower.get(j);
+            double width = layout.diskWidth(disk);
+            drawDisk(disk, centerX - (width / 2), layout.diskY(j));
+        }
+    }
+
+    private void drawDisk(int disk, double x, double y) {
+        double width = layout.diskWidth(disk);
+        double arc = Math.min(8, layout.diskHeight);
+        gc.setFill(BoardLayout.diskColor(disk));
+        gc.fillRoundRect(x, y, width, layout.diskHeight, arc, arc);
+        gc.setStroke(DISK_STROKE);
+        gc.strokeRoundRect(x, y, width, layout.diskHeight, arc, arc);
+    }
+
+    /** Peg whose top disk lies under the given point, or -1. */
+    private int topDiskAt(double x, double y) {
+        int peg = layout.pegAt(x);
+        if (peg < 0) return -1;
+        TowerView tower = logic.getTower(peg);
+        if (tower.isEmpty()) return -1;
+
+        double width = layout.diskWidth(tower.peek());
+        double left = layout.pegCenter(peg) - (width / 2);
+        double top = layout.diskY(tower.size() - 1);
+        boolean hit = x >= left && x <= left + width && y >= top && y <= top + layout.diskHeight;
+        return hit ? peg : -1;
+    }
+
+    private void pickUp(MouseEvent event) {
+        dragPeg = topDiskAt(event.getX(), event.getY());
+        if (dragPeg < 0) return;
+        dragX = event.getX();
+        dragY = event.getY();
+        canvas.setCursor(Cursor.CLOSED_HAND);
+        sync();
+    }
+
+    private void drop(MouseEvent event) {
+        if (dragPeg < 0) return;
+        int sourceIndex = dragPeg;
+        int targetIndex = layout.pegAt(event.getX());
+        dragPeg = -1;
+        canvas.setCursor(Cursor.DEFAULT);
+        DropEvent drop = new DropEvent(sourceIndex, targetIndex);
+        boolean legal = targetIndex >= 0 && logic.canMove(sourceIndex, targetIndex);
+        drop.accepted = legal;
+        if (legal) {
+            logic.move(sourceIndex, targetIndex);
+        }
+        // Full repaint, since the disk drawn at the pointer may overlap a third peg
+        sync();
+        drop.finish();
+        if (legal) {
+            onMoved.run();
+        }
+    }
+}
\ No newline at end of file
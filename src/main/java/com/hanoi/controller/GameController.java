@@ -1,9 +1,17 @@
 package com.hanoi.controller;
 
 import com.hanoi.Main;
-import com.hanoi.db.DatabaseManager;
+import com.hanoi.db.ScoreDistribution;
+import com.hanoi.db.ScoreStore;
+import com.hanoi.db.ScoreWriter;
+import com.hanoi.metrics.RenderEvent;
 import com.hanoi.model.Difficulty;
 import com.hanoi.model.GameLogic;
+import com.hanoi.model.MoveLog;
+import com.hanoi.model.Moves;
+import com.hanoi.model.PositionAnalyzer;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Parent;
@@ -12,56 +20,96 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
-import javafx.scene.input.*;
+import javafx.scene.control.Slider;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.text.Text;
 
 import java.util.Optional;
-import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
 
-public class GameController {
+public class GameController implements GameLogic.Listener {
 
     private final Main mainApp;
-    private final String playerName;
-    private final Difficulty difficulty;
-    private final GameLogic logic;
-    private final DatabaseManager dbManager;
+    private String playerName;
+    private Difficulty difficulty;
+    private GameLogic logic;
 
     private BorderPane view;
+    private Button hintBtn;
+    private Label playerLabel;
+    private Label minMovesLabel;
     private Label movesLabel;
+    private Label remainingLabel;
+    private Label hintLabel;
     private Pane gameArea;
-
-    // UI Constants
-    private static final double PEG_WIDTH = 15;
-    private static final double PEG_HEIGHT = 200;
-    private static final double DISK_HEIGHT = 25;
-    private static final double BASE_WIDTH = 250;
-    private static final double MIN_DISK_WIDTH = 60;
-    private static final double MAX_DISK_WIDTH = 200;
-
-    // Colors for disks (from smallest index to largest)
-    private static final Color[] DISK_COLORS = {
-            Color.web("#ef4444"), // Red
-            Color.web("#f97316"), // Orange
-            Color.web("#fbbf24"), // Amber
-            Color.web("#10b981"), // Emerald
-            Color.web("#06b6d4"), // Cyan
-            Color.web("#3b82f6"), // Blue
-            Color.web("#8b5cf6")  // Purple
-    };
+    private HBox autoSolveBar;
+    private Alert winDialog;
+
+    private BoardRenderer renderer;
+
+    // Auto-solve playback; batching suppresses per-move rendering while a frame's moves are applied
+    private final AutoSolver autoSolver = new AutoSolver();
+    private ToggleButton autoSolveBtn;
+    private double movesPerSecond;
+    private boolean batching;
+    private boolean assisted;
+
+    // Auto-solve speed slider is logarithmic: 10^0 to 10^7 moves per second
+    private static final double MAX_SPEED_EXPONENT = 7;
+    // Time spent applying moves per frame, leaving the rest of a 60 fps frame for rendering
+    private static final long FRAME_BUDGET_NANOS = 8_000_000;
+    // Above this many disks one node per disk gets too slow and too small; draw on a canvas instead
+    private static final int CANVAS_THRESHOLD = 20;
+
+    // Page Up / Page Down jump this many moves through the history
+    private static final int JUMP_MOVES = 100;
+    private static final KeyCombination UNDO = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_SHIFT = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+
+    private static final ButtonType PLAY_AGAIN = new ButtonType("Play Again", ButtonBar.ButtonData.OK_DONE);
+    private static final ButtonType NEXT_LEVEL = new ButtonType("Next Level →", ButtonBar.ButtonData.NEXT_FORWARD);
+    private static final ButtonType EXIT = new ButtonType("Exit", ButtonBar.ButtonData.CANCEL_CLOSE);
 
     public GameController(Main mainApp, String playerName, Difficulty difficulty) {
+        this(mainApp, playerName, difficulty, difficulty.getDisks());
+    }
+
+    public GameController(Main mainApp, String playerName, Difficulty difficulty, int disks) {
+        this(mainApp, playerName, difficulty, disks, 3);
+    }
+
+    public GameController(Main mainApp, String playerName, Difficulty difficulty, int disks, int pegs) {
         this.mainApp = mainApp;
+        initView();
+        newGame(playerName, difficulty, disks, pegs);
+    }
+
+    /**
+     * Starts a new game in this view. Playing the same board again only resets it; a different disk or peg
+     * count needs a new board and renderer, but the rest of the view is kept.
+     */
+    public void newGame(String playerName, Difficulty difficulty, int disks, int pegs) {
+        stopAutoSolve();
+        assisted = false;
         this.playerName = playerName;
         this.difficulty = difficulty;
-        this.logic = new GameLogic(difficulty.getDisks());
-        this.dbManager = DatabaseManager.getInstance();
-        initView();
-        drawGame();
+        if (logic != null && logic.getTotalDisks() == disks && logic.getPegCount() == pegs) {
+            logic.reset(); // Listener redraws the board
+        } else {
+            if (logic != null) logic.removeListener(this);
+            logic = new GameLogic(disks, pegs);
+            buildBoard();
+            logic.addListener(this);
+        }
+        showLevel();
     }
 
     private void initView() {
@@ -75,196 +123,313 @@ public class GameController {
         topBar.setPadding(new Insets(0, 0, 20, 0));
 
         Button backBtn = new Button("← Menu");
-        backBtn.setOnAction(e -> mainApp.showWelcomeScreen());
+        backBtn.setOnAction(e -> {
+            autoSolver.stop();
+            mainApp.showWelcomeScreen();
+        });
+
+        hintBtn = new Button("Hint");
+        hintBtn.getStyleClass().add("accent-button");
+        hintBtn.setOnAction(e -> showHint());
 
         VBox infoBox = new VBox(2);
-        Label playerLabel = new Label("Player: " + playerName + " | Difficulty: " + difficulty);
+        playerLabel = new Label();
         playerLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-        infoBox.getChildren().add(playerLabel);
+        hintLabel = new Label();
+        hintLabel.setTextFill(Color.web(Main.ACCENT_COLOR));
+        infoBox.getChildren().addAll(playerLabel, hintLabel);
 
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
         VBox statsBox = new VBox(2);
         statsBox.setAlignment(Pos.CENTER_RIGHT);
-        Label minMovesLabel = new Label("Min Moves: " + logic.getMinMoves());
+        minMovesLabel = new Label();
         movesLabel = new Label("Moves: 0");
         movesLabel.setTextFill(Color.web(Main.SUCCESS_COLOR));
         movesLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 18));
-        statsBox.getChildren().addAll(minMovesLabel, movesLabel);
+        remainingLabel = new Label();
+        statsBox.getChildren().addAll(minMovesLabel, movesLabel, remainingLabel);
 
-        topBar.getChildren().addAll(backBtn, infoBox, spacer, statsBox);
+        topBar.getChildren().addAll(backBtn, hintBtn, infoBox, spacer, statsBox);
         view.setTop(topBar);
 
         // --- Game Area ---
         gameArea = new Pane();
         gameArea.setStyle("-fx-background-color: #1e293b; -fx-background-radius: 12;");
         view.setCenter(gameArea);
+
+        // --- Auto-solve Bar ---
+        autoSolveBar = new HBox(15);
+        autoSolveBar.setAlignment(Pos.CENTER_LEFT);
+        autoSolveBar.setPadding(new Insets(20, 0, 0, 0));
+
+        autoSolveBtn = new ToggleButton("Auto-solve");
+        autoSolveBtn.setOnAction(e -> {
+            if (autoSolveBtn.isSelected()) startAutoSolve();
+            else stopAutoSolve();
+        });
+
+        Label speedLabel = new Label();
+        Slider speedSlider = new Slider(0, MAX_SPEED_EXPONENT, 1);
+        speedSlider.setPrefWidth(300);
+        speedSlider.valueProperty().addListener((obs, oldValue, newValue) -> {
+            movesPerSecond = Math.round(Math.pow(10, newValue.doubleValue()));
+            speedLabel.setText(String.format("%,.0f moves/s", movesPerSecond));
+        });
+        movesPerSecond = 10;
+        speedLabel.setText("10 moves/s");
+
+        autoSolveBar.getChildren().addAll(autoSolveBtn, new Label("Speed:"), speedSlider, speedLabel);
+        view.setBottom(autoSolveBar);
+
+        // Ctrl+Z / Ctrl+Y (Cmd on macOS) step through the history, Page Up / Page Down jump through it
+        view.addEventHandler(KeyEvent.KEY_PRESSED, this::handleKey);
     }
 
-    private void drawGame() {
-        gameArea.getChildren().clear();
-
-        double areaWidth = 984; // approximate, based on scene width - padding
-        double areaHeight = 600;
-        double pegSpacing = areaWidth / 3;
-
-        // Draw 3 Pegs
-        for (int i = 0; i < 3; i++) {
-            double centerX = (i * pegSpacing) + (pegSpacing / 2);
-            double bottomY = areaHeight - 50;
-
-            // Draw Base
-            Rectangle base = new Rectangle(centerX - (BASE_WIDTH / 2), bottomY, BASE_WIDTH, 20);
-            base.setFill(Color.web("#475569"));
-            base.setArcWidth(10); base.setArcHeight(10);
-
-            // Draw Pole
-            Rectangle pole = new Rectangle(centerX - (PEG_WIDTH / 2), bottomY - PEG_HEIGHT, PEG_WIDTH, PEG_HEIGHT);
-            pole.setFill(Color.web("#475569"));
-            pole.setArcWidth(10); pole.setArcHeight(10);
-
-            // Add drop handlers to pole area (invisible large rect for easier drop)
-            Rectangle dropZone = new Rectangle(centerX - (BASE_WIDTH/2), bottomY - PEG_HEIGHT - 50, BASE_WIDTH, PEG_HEIGHT + 70);
-            dropZone.setFill(Color.TRANSPARENT);
-            setupDropTarget(dropZone, i);
-
-            gameArea.getChildren().addAll(base, pole, dropZone);
-
-            // Draw Label
-            Text label = new Text(String.valueOf((char)('A' + i)));
-            label.setFill(Color.GRAY);
-            label.setFont(Font.font(24));
-            label.setX(centerX - 7);
-            label.setY(bottomY + 50);
-            gameArea.getChildren().add(label);
-
-            // Draw Disks
-            Stack<Integer> tower = logic.getTower(i);
-            for (int j = 0; j < tower.size(); j++) {
-                int diskSize = tower.get(j); // 1 is smallest
-                // Logic stores N as largest at bottom.
-                // Wait, in GameLogic constructor:
-                // for (int k = totalDisks; k >= 1; k--) towers[0].push(k);
-                // Stack index 0 is bottom.
-
-                double width = MIN_DISK_WIDTH + ((double) (diskSize - 1) / (difficulty.getDisks())) * (MAX_DISK_WIDTH - MIN_DISK_WIDTH);
-
-                Rectangle disk = new Rectangle();
-                disk.setWidth(width);
-                disk.setHeight(DISK_HEIGHT);
-                disk.setX(centerX - (width / 2));
-                // Stack grows up. J=0 is bottom.
-                disk.setY(bottomY - ((j + 1) * (DISK_HEIGHT + 2)));
-
-                disk.setArcWidth(8);
-                disk.setArcHeight(8);
-
-                int colorIndex = (diskSize - 1) % DISK_COLORS.length;
-                disk.setFill(DISK_COLORS[colorIndex]);
-                disk.setStroke(Color.WHITE.deriveColor(0, 1, 1, 0.2));
-
-                // Add drag handler if it's the top disk
-                if (j == tower.size() - 1) {
-                    setupDragSource(disk, i);
-                    disk.setCursor(javafx.scene.Cursor.HAND);
-                }
+    private void handleKey(KeyEvent e) {
+        // Playback owns the board until it stops
+        if (autoSolveBtn.isSelected()) return;
+        boolean undo = UNDO.match(e);
+        boolean redo = REDO.match(e) || REDO_SHIFT.match(e);
+        if (!undo && !redo && e.getCode() != KeyCode.PAGE_UP && e.getCode() != KeyCode.PAGE_DOWN) return;
+
+        // A disk held by the pointer was picked up from the position that is about to be replaced
+        renderer.cancelDrag();
+        if (undo) {
+            logic.undo();
+        } else if (redo) {
+            if (logic.redo()) checkWin();
+        } else if (e.getCode() == KeyCode.PAGE_UP) {
+            logic.jumpTo(Math.max(logic.getHistoryStart(), logic.getMoves() - JUMP_MOVES));
+        } else {
+            logic.jumpTo(Math.min(logic.getHistoryEnd(), logic.getMoves() + JUMP_MOVES));
+            checkWin();
+        }
+        e.consume();
+    }
 
-                gameArea.getChildren().add(disk);
-            }
+    /** Updates everything in the view that depends on the player and the level. */
+    private void showLevel() {
+        String level = difficulty.isCustom() ? difficulty + " (" + logic.getTotalDisks() + " disks)" : difficulty.toString();
+        if (logic.getPegCount() != 3) level += " | " + logic.getPegCount() + " pegs";
+        playerLabel.setText("Player: " + playerName + " | Difficulty: " + level);
+        minMovesLabel.setText("Min Moves: " + Long.toUnsignedString(logic.getMinMoves()));
+
+        // Hints, distance-to-goal and auto-solve playback rely on the three-peg analysis
+        boolean analyzable = logic.getPegCount() == 3;
+        for (Region node : new Region[] {hintBtn, remainingLabel, autoSolveBar}) {
+            node.setVisible(analyzable);
+            node.setManaged(analyzable);
         }
     }
 
-    private void setupDragSource(Rectangle disk, int sourceIndex) {
-        disk.setOnDragDetected(event -> {
-            Dragboard db = disk.startDragAndDrop(TransferMode.MOVE);
-            ClipboardContent content = new ClipboardContent();
-            // Store source peg index
-            content.putString(String.valueOf(sourceIndex));
-            db.setContent(content);
+    /** Picks a renderer for the board size; either one keeps its node count fixed for the whole game. */
+    private void buildBoard() {
+        renderer = logic.getTotalDisks() > CANVAS_THRESHOLD
+                ? new CanvasBoardRenderer(logic, this::checkWin)
+                : new NodeBoardRenderer(logic, this::checkWin);
+        gameArea.getChildren().setAll(renderer.getNode());
+        syncBoard();
+    }
 
-            // Optional: Set drag view image
-            db.setDragView(disk.snapshot(null, null));
+    @Override
+    public void diskMoved(int disk, int fromIndex, int toIndex) {
+        if (batching) return;
+        RenderEvent event = new RenderEvent(RenderEvent.Kind.MOVE);
+        renderer.diskMoved(disk, fromIndex, toIndex);
+        updateStats();
+        event.finish();
+    }
 
-            event.consume();
-        });
+    @Override
+    public void boardChanged() {
+        syncBoard();
+    }
+
+    /** Redraws every disk. Used after reset and after a batch of auto-solve moves. */
+    private void syncBoard() {
+        RenderEvent event = new RenderEvent(RenderEvent.Kind.SYNC);
+        renderer.sync();
+        updateStats();
+        event.finish();
     }
 
-    private void setupDropTarget(Rectangle zone, int targetIndex) {
-        zone.setOnDragOver(event -> {
-            if (event.getGestureSource() != zone && event.getDragboard().hasString()) {
-                int sourceIndex = Integer.parseInt(event.getDragboard().getString());
-                if (logic.canMove(sourceIndex, targetIndex)) {
-                    event.acceptTransferModes(TransferMode.MOVE);
+    private void updateStats() {
+        movesLabel.setText("Moves: " + logic.getMoves());
+        if (logic.getPegCount() != 3) return;
+        remainingLabel.setText("Moves to goal: " + Long.toUnsignedString(PositionAnalyzer.distanceToGoal(logic)));
+        hintLabel.setText("");
+    }
+
+    private void showHint() {
+        int move = PositionAnalyzer.nextMove(logic);
+        hintLabel.setText(move == Moves.NONE ? "" : "Hint: move " + Moves.format(move));
+    }
+
+    private void startAutoSolve() {
+        if (logic.isSolved()) {
+            autoSolveBtn.setSelected(false);
+            return;
+        }
+        // A solution played by the computer never reaches the leaderboard
+        assisted = true;
+        renderer.cancelDrag();
+        gameArea.setMouseTransparent(true);
+        autoSolver.start();
+    }
+
+    private void stopAutoSolve() {
+        autoSolver.stop();
+        autoSolveBtn.setSelected(false);
+        gameArea.setMouseTransparent(false);
+    }
+
+    /**
+     * Plays optimal moves at the selected rate. Each frame applies every move that is due without rendering
+     * them, then draws the final position once, so the frame rate holds whatever the move rate.
+     */
+    private final class AutoSolver extends AnimationTimer {
+        private long lastFrame;
+        private double owed;
+
+        @Override
+        public void start() {
+            lastFrame = 0;
+            owed = 1; // First move right away
+            super.start();
+        }
+
+        @Override
+        public void handle(long now) {
+            if (lastFrame != 0) {
+                owed += (now - lastFrame) / 1e9 * movesPerSecond;
+            }
+            lastFrame = now;
+            if (owed < 1) return;
+
+            long due = (long) owed;
+            long done = 0;
+            long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+            batching = true;
+            try {
+                while (done < due) {
+                    int move = PositionAnalyzer.nextMove(logic);
+                    if (move == Moves.NONE) break;
+                    logic.move(Moves.from(move), Moves.to(move));
+                    done++;
+                    if ((done & 1023) == 0 && System.nanoTime() > deadline) break;
                 }
+            } finally {
+                batching = false;
             }
-            event.consume();
-        });
-
-        zone.setOnDragDropped(event -> {
-            Dragboard db = event.getDragboard();
-            boolean success = false;
-            if (db.hasString()) {
-                int sourceIndex = Integer.parseInt(db.getString());
-                logic.move(sourceIndex, targetIndex);
-                movesLabel.setText("Moves: " + logic.getMoves());
-                drawGame(); // Re-render
-                checkWin();
-                success = true;
+            // Drop moves that did not fit in the frame budget rather than piling up a backlog
+            owed = done < due ? 0 : owed - done;
+            syncBoard();
+
+            if (logic.isSolved()) {
+                stopAutoSolve();
+                // Dialogs cannot be shown from inside an animation pulse
+                Platform.runLater(GameController.this::checkWin);
             }
-            event.setDropCompleted(success);
-            event.consume();
-        });
+        }
     }
 
     private void checkWin() {
         if (logic.isSolved()) {
             double score = logic.calculateScore();
-            int moves = logic.getMoves();
+            long moves = logic.getMoves();
+            // The boards and their histograms are for three pegs; more pegs need fewer moves and score differently
+            boolean ranked = !assisted && logic.getPegCount() == 3;
+            // Ranked before submitting, so the game is compared with everyone else's
+            String standing = ranked ? describeStanding(score) : null;
+
+            // Save to DB on the background writer so a slow disk never stalls the UI. A full queue means the
+            // disk is already behind, so the game is dropped rather than written around the queue.
+            boolean saved = false;
+            if (ranked) {
+                MoveLog log = logic.getMoveLog();
+                ScoreStore.ScoreSubmission submission = new ScoreStore.ScoreSubmission(playerName, difficulty,
+                        logic.getTotalDisks(), moves, score, log.isComplete() ? log.toBytes() : null);
+                saved = submit(submission);
+            }
 
-            // Save to DB
-            dbManager.addScore(playerName, difficulty, moves, score);
+            showWinDialog(moves, score, standing, saved);
+        }
+    }
 
-            showWinDialog(moves, score);
+    /**
+     * Hands a finished game to the score writer, which only exists once startup has opened the database; a
+     * game won before that waits for it rather than opening the database on the FX thread.
+     *
+     * @return false if the game will not be saved
+     */
+    private boolean submit(ScoreStore.ScoreSubmission submission) {
+        CompletableFuture<ScoreWriter> writer = mainApp.getScoreWriter();
+        if (writer.isCompletedExceptionally()) return false;
+        if (writer.isDone()) return writer.join().offer(submission);
+        // The queue is empty this early, so the offer will not be turned away
+        writer.thenAccept(w -> w.offer(submission));
+        return true;
+    }
+
+    /** "You beat 87% of HARD games." if the score distribution has loaded, otherwise null. */
+    private String describeStanding(double score) {
+        CompletableFuture<ScoreDistribution> loaded = mainApp.getScoreDistribution();
+        if (!loaded.isDone() || loaded.isCompletedExceptionally()) return null;
+
+        ScoreDistribution distribution = loaded.join();
+        if (distribution.getCount(difficulty) == 0) {
+            return "First " + difficulty.name() + " score on the board!";
         }
+        // Rounded down, so nobody reads 100% unless they beat every single game
+        long percent = (long) distribution.percentileOf(difficulty, score);
+        return String.format("You beat %d%% of %s games (rank %d).",
+                percent, difficulty.name(), distribution.rankOf(difficulty, score));
     }
 
-    private void showWinDialog(int moves, double score) {
-        Alert alert = new Alert(Alert.AlertType.NONE);
-        alert.setTitle("You Win!");
+    private void showWinDialog(long moves, double score, String standing, boolean saved) {
+        // One dialog for the whole session; only its text and buttons change between rounds
+        if (winDialog == null) {
+            winDialog = new Alert(Alert.AlertType.NONE);
+            winDialog.setTitle("You Win!");
+        }
+        Alert alert = winDialog;
         alert.setHeaderText("Great job, " + playerName + "!");
 
         String content = String.format("""
             Moves: %d
-            Min Moves: %d
+            Min Moves: %s
             Score: %.1f
-            """, moves, logic.getMinMoves(), score);
+            """, moves, Long.toUnsignedString(logic.getMinMoves()), score);
+        if (standing != null) content += standing + "\n";
+        if (assisted) {
+            content += "Auto-solved games are not saved.";
+        } else if (logic.getPegCount() != 3) {
+            content += "Only 3-peg games are saved to the leaderboard.";
+        } else if (!saved) {
+            content += "Scores are not being saved right now, so this game was not recorded.";
+        }
         alert.setContentText(content);
 
-        ButtonType btnPlayAgain = new ButtonType("Play Again", ButtonBar.ButtonData.OK_DONE);
-        ButtonType btnExit = new ButtonType("Exit", ButtonBar.ButtonData.CANCEL_CLOSE);
-
-        alert.getButtonTypes().addAll(btnPlayAgain, btnExit);
-
         // Check if we can offer next level
-        boolean canNextLevel = score >= 50.0 && difficulty != Difficulty.HARD;
-        ButtonType btnNextLevel = null;
+        boolean canNextLevel = score >= 50.0 && (difficulty == Difficulty.EASY || difficulty == Difficulty.MEDIUM);
         if (canNextLevel) {
-            btnNextLevel = new ButtonType("Next Level →", ButtonBar.ButtonData.NEXT_FORWARD);
-            alert.getButtonTypes().add(1, btnNextLevel);
+            alert.getButtonTypes().setAll(PLAY_AGAIN, NEXT_LEVEL, EXIT);
+        } else {
+            alert.getButtonTypes().setAll(PLAY_AGAIN, EXIT);
         }
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent()) {
-            if (result.get() == btnPlayAgain) {
+            if (result.get() == PLAY_AGAIN) {
                 // Restart same config
+                assisted = false;
                 logic.reset();
-                movesLabel.setText("Moves: 0");
-                drawGame();
-            } else if (btnNextLevel != null && result.get() == btnNextLevel) {
+            } else if (result.get() == NEXT_LEVEL) {
                 // Determine next difficulty
                 Difficulty nextDiff = (difficulty == Difficulty.EASY) ? Difficulty.MEDIUM : Difficulty.HARD;
-                mainApp.showGameScreen(playerName, nextDiff);
+                mainApp.showGameScreen(playerName, nextDiff, nextDiff.getDisks(), logic.getPegCount());
             } else {
                 mainApp.showWelcomeScreen();
             }
@@ -0,0 +1,173 @@
+package com.hanoi.controller;
+
+import com.hanoi.metrics.DropEvent;
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.TowerView;
+import javafx.scene.Node;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.Dragboard;
+import javafx.scene.input.TransferMode;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * One {@link Rectangle} per disk with drag-and-drop between peg drop zones. All nodes are created once;
+ * a move only relocates the disk that moved.
+ */
+final class NodeBoardRenderer implements BoardRenderer {
+
+    private final GameLogic logic;
+    private final Runnable onMoved;
+    private final BoardLayout layout;
+    private final Pane pane = new Pane();
+    // Disk d is drawn by diskNodes[d - 1]
+    private final Rectangle[] diskNodes;
+
+    NodeBoardRenderer(GameLogic logic, Runnable onMoved) {
+        this.logic = logic;
+        this.onMoved = onMoved;
+        this.layout = new BoardLayout(logic.getPegCount(), logic.getTotalDisks());
+        this.diskNodes = new Rectangle[logic.getTotalDisks()];
+        build();
+    }
+
+    @Override
+    public Node getNode() {
+        return pane;
+    }
+
+    private void build() {
+        double bottomY = layout.bottomY;
+        double baseWidth = layout.baseWidth;
+        double poleHeight = layout.poleHeight;
+
+        // Draw Pegs
+        for (int i = 0; i < layout.pegCount; i++) {
+            double centerX = layout.pegCenter(i);
+
+            // Draw Base
+            Rectangle base = new Rectangle(centerX - (baseWidth / 2), bottomY, baseWidth, 20);
+            base.setFill(Color.web("#475569"));
+            base.setArcWidth(10); base.setArcHeight(10);
+
+            // Draw Pole
+            Rectangle pole = new Rectangle(centerX - (layout.pegWidth / 2), bottomY - poleHeight, layout.pegWidth, poleHeight);
+            pole.setFill(Color.web("#475569"));
+            pole.setArcWidth(10); pole.setArcHeight(10);
+
+            // Add drop handlers to pole area (invisible large rect for easier drop)
+            Rectangle dropZone = new Rectangle(centerX - (baseWidth / 2), bottomY - poleHeight - 50, baseWidth, poleHeight + 70);
+            dropZone.setFill(Color.TRANSPARENT);
+            setupDropTarget(dropZone, i);
+
+            pane.getChildren().addAll(base, pole, dropZone);
+
+            // Draw Label
+            Text label = new Text(String.valueOf((char)('A' + i)));
+            label.setFill(Color.GRAY);
+            label.setFont(Font.font(24));
+            label.setX(centerX - 7);
+            label.setY(bottomY + 50);
+            pane.getChildren().add(label);
+        }
+
+        // Draw Disks
+        for (int diskSize = 1; diskSize <= diskNodes.length; diskSize++) { // 1 is smallest
+            Rectangle disk = new Rectangle();
+            disk.setWidth(layout.diskWidth(diskSize));
+            disk.setHeight(layout.diskHeight);
+            disk.setArcWidth(8);
+            disk.setArcHeight(8);
+            disk.setFill(BoardLayout.diskColor(diskSize));
+            disk.setStroke(Color.WHITE.deriveColor(0, 1, 1, 0.2));
+
+            setupDragSource(disk, diskSize);
+            diskNodes[diskSize - 1] = disk;
+            pane.getChildren().add(disk);
+        }
+    }
+
+    @Override
+    public void diskMoved(int disk, int fromIndex, int toIndex) {
+        TowerView target = logic.getTower(toIndex);
+        placeDisk(disk, toIndex, target.size() - 1);
+        // Only the top disk of each peg can be dragged
+        if (target.size() > 1) {
+            setDraggable(target.get(target.size() - 2), false);
+        }
+        TowerView source = logic.getTower(fromIndex);
+        if (!source.isEmpty()) {
+            setDraggable(source.peek(), true);
+        }
+    }
+
+    @Override
+    public void sync() {
+        for (int peg = 0; peg < layout.pegCount; peg++) {
+            TowerView tower = logic.getTower(peg);
+            for (int j = 0; j < tower.size(); j++) {
+                placeDisk(tower.get(j), peg, j);
+                setDraggable(tower.get(j), j == tower.size() - 1);
+            }
+        }
+    }
+
+    private void placeDisk(int diskSize, int peg, int level) {
+        Rectangle disk = diskNodes[diskSize - 1];
+        disk.setX(layout.pegCenter(peg) - (disk.getWidth() / 2));
+        disk.setY(layout.diskY(level));
+    }
+
+    private void setDraggable(int diskSize, boolean draggable) {
+        diskNodes[diskSize - 1].setCursor(draggable ? javafx.scene.Cursor.HAND : null);
+    }
+
+    private void setupDragSource(Rectangle disk, int diskSize) {
+        disk.setOnDragDetected(event -> {
+            int sourceIndex = logic.pegOf(diskSize);
+            if (logic.getTower(sourceIndex).peek() != diskSize) return;
+
+            Dragboard db = disk.startDragAndDrop(TransferMode.MOVE);
+            ClipboardContent content = new ClipboardContent();
+            // Store source peg index
+            content.putString(String.valueOf(sourceIndex));
+            db.setContent(content);
+
+            // Optional: Set drag view image
+            db.setDragView(disk.snapshot(null, null));
+
+            event.consume();
+        });
+    }
+
+    private void setupDropTarget(Rectangle zone, int targetIndex) {
+        zone.setOnDragOver(event -> {
+            if (event.getGestureSource() != zone && event.getDragboard().hasString()) {
+                int sourceIndex = Integer.parseInt(event.getDragboard().getString());
+                if (logic.canMove(sourceIndex, targetIndex)) {
+                    event.acceptTransferModes(TransferMode.MOVE);
+                }
+            }
+            event.consume();
+        });
+
+        zone.setOnDragDropped(event -> {
+            Dragboard db = event.getDragboard();
+            boolean success = false;
+            if (db.hasString()) {
+                int sourceIndex = Integer.parseInt(db.getString());
+                DropEvent drop = new DropEvent(sourceIndex, targetIndex);
+                drop.accepted = logic.canMove(sourceIndex, targetIndex);
+                logic.move(sourceIndex, targetIndex); // Listener relocates the disk
+                drop.finish();
+                onMoved.run();
+                success = true;
+            }
+            event.setDropCompleted(success);
+            event.consume();
+        });
+    }
+}
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.hanoi.controller;
 
 import com.hanoi.Main;
-import com.hanoi.db.DatabaseManager;
+import com.hanoi.db.LeaderboardCache;
+import com.hanoi.db.ScoreDistribution;
+import com.hanoi.db.ScoreStore;
 import com.hanoi.model.Difficulty;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Parent;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -14,19 +21,63 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class WelcomeController {
 
+    private static final int MAX_PEGS = 6;
+    // Score distribution chart: one bar per 10 points
+    private static final int CHART_BINS = 10;
+
     private final Main mainApp;
-    private final DatabaseManager dbManager;
     private TextField nameField;
     private ToggleGroup difficultyGroup;
+    private ToggleButton mediumButton;
+    private ToggleButton hardButton;
+    private ToggleButton customButton;
+    private Spinner<Integer> diskSpinner;
+    private Spinner<Integer> pegSpinner;
+    private ListView<String> scoreList;
+    private Label chartLabel;
+    private XYChart.Series<String, Number> chartSeries;
+    private ScoreDistribution distribution;
     private VBox view;
 
     public WelcomeController(Main mainApp) {
         this.mainApp = mainApp;
-        this.dbManager = DatabaseManager.getInstance();
         initView();
+        refresh();
+    }
+
+    /** Brings the level locks and high scores up to date; called each time the screen is shown again. */
+    public void refresh() {
+        // Levels stay locked and the list shows a placeholder until the database has loaded
+        CompletableFuture<LeaderboardCache> leaderboard = mainApp.getLeaderboard();
+        if (leaderboard.isDone() && !leaderboard.isCompletedExceptionally()) {
+            showLeaderboard(leaderboard.join());
+        } else {
+            leaderboard.whenCompleteAsync((cache, error) -> {
+                if (error != null) {
+                    error.printStackTrace();
+                    scoreList.getItems().setAll("Scores unavailable.");
+                } else {
+                    showLeaderboard(cache);
+                }
+            }, Platform::runLater);
+        }
+
+        CompletableFuture<ScoreDistribution> scores = mainApp.getScoreDistribution();
+        if (scores.isDone() && !scores.isCompletedExceptionally()) {
+            showDistribution(scores.join());
+        } else {
+            scores.whenCompleteAsync((loaded, error) -> {
+                if (error != null) {
+                    error.printStackTrace();
+                } else {
+                    showDistribution(loaded);
+                }
+            }, Platform::runLater);
+        }
     }
 
     private void initView() {
@@ -53,25 +104,34 @@ public class WelcomeController {
         HBox diffBox = new HBox(10);
         difficultyGroup = new ToggleGroup();
 
-        // Check locks
-        double easyBest = dbManager.getBestScore(Difficulty.EASY);
-        boolean unlockMedium = easyBest >= 50.0;
-        // In a strictly sequential game, unlock Hard if Medium passed,
-        // but prompt says "unlock when user scores >= 50% in easy level" for Medium AND Hard?
-        // Prompt: "lock medium and hard level and unlock when user scores more or equal 50% in easy level"
-        // This implies passing Easy unlocks everything.
-        boolean unlockHard = unlockMedium;
-
+        mediumButton = createDiffButton(Difficulty.MEDIUM, true);
+        hardButton = createDiffButton(Difficulty.HARD, true);
         diffBox.getChildren().add(createDiffButton(Difficulty.EASY, false));
-        diffBox.getChildren().add(createDiffButton(Difficulty.MEDIUM, !unlockMedium));
-        diffBox.getChildren().add(createDiffButton(Difficulty.HARD, !unlockHard));
+        diffBox.getChildren().addAll(mediumButton, hardButton);
+
+        // Custom level shares the Hard lock and lets the player pick any disk count.
+        HBox customBox = new HBox(10);
+        customBox.setAlignment(Pos.CENTER_LEFT);
+        diskSpinner = new Spinner<>(Difficulty.MIN_DISKS, Difficulty.MAX_DISKS, Difficulty.CUSTOM.getDisks());
+        diskSpinner.setEditable(true);
+        diskSpinner.setPrefWidth(100);
+        diskSpinner.setDisable(true);
+        customButton = createDiffButton(Difficulty.CUSTOM, true);
+        customBox.getChildren().addAll(customButton, diskSpinner, new Label("disks"));
+
+        // Reve's puzzle and beyond: 4-6 peg modes use the Frame-Stewart minimum and stay off the leaderboards
+        HBox pegBox = new HBox(10);
+        pegBox.setAlignment(Pos.CENTER_LEFT);
+        pegSpinner = new Spinner<>(3, MAX_PEGS, 3);
+        pegSpinner.setPrefWidth(100);
+        pegBox.getChildren().addAll(new Label("Pegs"), pegSpinner, new Label("(only 3 are ranked)"));
 
         Button startButton = new Button("Start Game");
         startButton.getStyleClass().add("primary-button");
         startButton.setMaxWidth(Double.MAX_VALUE);
         startButton.setOnAction(e -> handleStart());
 
-        inputPanel.getChildren().addAll(nameLabel, nameField, diffLabel, diffBox, startButton);
+        inputPanel.getChildren().addAll(nameLabel, nameField, diffLabel, diffBox, customBox, pegBox, startButton);
 
         // --- Right Panel: High Scores ---
         VBox scorePanel = new VBox(10);
@@ -81,19 +141,30 @@ public class WelcomeController {
         Label scoreLabel = new Label("Top 5 High Scores");
         scoreLabel.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
 
-        ListView<String> scoreList = new ListView<>();
+        scoreList = new ListView<>();
         scoreList.setPrefHeight(200);
+        scoreList.getItems().add("Loading scores...");
 
-        List<DatabaseManager.ScoreRecord> scores = dbManager.getTopScores();
-        if (scores.isEmpty()) {
-            scoreList.getItems().add("No scores yet.");
-        } else {
-            for (DatabaseManager.ScoreRecord s : scores) {
-                scoreList.getItems().add(String.format("%s - %s (%d moves) - %.1f pts", s.name(), s.difficulty(), s.moves(), s.score()));
-            }
+        chartLabel = new Label("Score Distribution");
+        chartLabel.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
+
+        CategoryAxis rangeAxis = new CategoryAxis();
+        NumberAxis gamesAxis = new NumberAxis();
+        gamesAxis.setMinorTickVisible(false);
+        BarChart<String, Number> chart = new BarChart<>(rangeAxis, gamesAxis);
+        chart.setLegendVisible(false);
+        chart.setAnimated(false);
+        chart.setCategoryGap(2);
+        chart.setPrefHeight(200);
+        chartSeries = new XYChart.Series<>();
+        for (int i = 0; i < CHART_BINS; i++) {
+            chartSeries.getData().add(new XYChart.Data<>(binLabel(i), 0));
         }
+        chart.getData().add(chartSeries);
+        // Follows the selected difficulty
+        difficultyGroup.selectedToggleProperty().addListener((obs, old, selected) -> updateChart());
 
-        scorePanel.getChildren().addAll(scoreLabel, scoreList);
+        scorePanel.getChildren().addAll(scoreLabel, scoreList, chartLabel, chart);
 
         // Layout container
         HBox mainLayout = new HBox(40);
@@ -103,19 +174,76 @@ public class WelcomeController {
         view.getChildren().addAll(title, mainLayout);
     }
 
+    /** Fills in the level locks and the high score list once the leaderboard has loaded. */
+    private void showLeaderboard(LeaderboardCache leaderboard) {
+        // Check locks
+        double easyBest = leaderboard.getBestScore(Difficulty.EASY);
+        boolean unlockMedium = easyBest >= 50.0;
+        // In a strictly sequential game, unlock Hard if Medium passed,
+        // but prompt says "unlock when user scores >= 50% in easy level" for Medium AND Hard?
+        // Prompt: "lock medium and hard level and unlock when user scores more or equal 50% in easy level"
+        // This implies passing Easy unlocks everything.
+        boolean unlockHard = unlockMedium;
+
+        setLocked(mediumButton, !unlockMedium);
+        setLocked(hardButton, !unlockHard);
+        setLocked(customButton, !unlockHard);
+        diskSpinner.setDisable(!unlockHard);
+
+        List<ScoreStore.ScoreRecord> scores = leaderboard.getTopScores(5);
+        scoreList.getItems().clear();
+        if (scores.isEmpty()) {
+            scoreList.getItems().add("No scores yet.");
+        } else {
+            for (ScoreStore.ScoreRecord s : scores) {
+                scoreList.getItems().add(String.format("%s - %s/%d (%d moves) - %.1f pts", s.name(), s.difficulty(), s.disks(), s.moves(), s.score()));
+            }
+        }
+    }
+
+    private void showDistribution(ScoreDistribution distribution) {
+        this.distribution = distribution;
+        updateChart();
+    }
+
+    /** Redraws the chart for the selected difficulty; the bars stay in place and only their heights change. */
+    private void updateChart() {
+        Toggle selected = difficultyGroup.getSelectedToggle();
+        if (distribution == null || selected == null) return;
+
+        Difficulty diff = (Difficulty) selected.getUserData();
+        long[] counts = distribution.histogram(diff, CHART_BINS);
+        for (int i = 0; i < CHART_BINS; i++) {
+            chartSeries.getData().get(i).setYValue(counts[i]);
+        }
+        chartLabel.setText(String.format("Score Distribution - %s (%d games)", diff.name(), distribution.getCount(diff)));
+    }
+
+    private static String binLabel(int bin) {
+        int width = (int) ScoreDistribution.MAX_SCORE / CHART_BINS;
+        return (bin * width) + "-" + ((bin + 1) * width);
+    }
+
     private ToggleButton createDiffButton(Difficulty diff, boolean locked) {
         ToggleButton btn = new ToggleButton(diff.name());
         btn.setToggleGroup(difficultyGroup);
         btn.setUserData(diff);
-        btn.setDisable(locked);
         btn.setPrefWidth(100);
         if (diff == Difficulty.EASY) btn.setSelected(true); // Default
 
+        setLocked(btn, locked);
+        return btn;
+    }
+
+    private void setLocked(ToggleButton btn, boolean locked) {
+        btn.setDisable(locked);
         if (locked) {
             btn.setText("Locked 🔒");
             btn.setStyle("-fx-opacity: 0.6;");
+        } else {
+            btn.setText(((Difficulty) btn.getUserData()).name());
+            btn.setStyle("");
         }
-        return btn;
     }
 
     private void handleStart() {
@@ -129,7 +257,8 @@ public class WelcomeController {
         if (selected == null) return;
 
         Difficulty diff = (Difficulty) selected.getUserData();
-        mainApp.showGameScreen(name, diff);
+        int disks = diff.isCustom() ? diskSpinner.getValue() : diff.getDisks();
+        mainApp.showGameScreen(name, diff, disks, pegSpinner.getValue());
     }
 
     private void showAlert(String title, String content) {
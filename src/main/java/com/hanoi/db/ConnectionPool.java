@@ -0,0 +1,158 @@
+package com.hanoi.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small bounded pool of long-lived SQLite connections. Connections are opened lazily up to the limit,
+ * tuned with throughput-oriented pragmas, and keep their prepared statements cached for reuse.
+ */
+final class ConnectionPool implements AutoCloseable {
+
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 30;
+
+    private static final String[] PRAGMAS = {
+            "PRAGMA journal_mode=WAL",
+            "PRAGMA synchronous=NORMAL",
+            "PRAGMA mmap_size=268435456",
+            "PRAGMA busy_timeout=5000",
+            "PRAGMA temp_store=MEMORY"
+    };
+
+    private final String url;
+    private final int maxSize;
+    private final BlockingQueue<PooledConnection> idle;
+    private final List<PooledConnection> all = new ArrayList<>();
+    private boolean closed;
+
+    ConnectionPool(String url, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    PooledConnection acquire() throws SQLException {
+        PooledConnection connection = idle.poll();
+        if (connection != null) return connection;
+
+        connection = openIfBelowLimit();
+        if (connection != null) return connection;
+
+        try {
+            connection = idle.poll(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        if (connection == null) {
+            throw new SQLException("Timed out waiting for a database connection");
+        }
+        return connection;
+    }
+
+    private synchronized PooledConnection openIfBelowLimit() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        if (all.size() >= maxSize) return null;
+
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            for (String pragma : PRAGMAS) {
+                stmt.execute(pragma);
+            }
+        }
+        PooledConnection pooled = new PooledConnection(connection);
+        all.add(pooled);
+        return pooled;
+    }
+
+    private void release(PooledConnection connection) {
+        try {
+            // Leave every pooled connection in autocommit mode for the next borrower
+            if (!connection.connection.getAutoCommit()) {
+                connection.connection.rollback();
+                connection.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        synchronized (this) {
+            if (closed) {
+                connection.closeQuietly();
+                return;
+            }
+        }
+        idle.offer(connection);
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (PooledConnection connection : all) {
+            connection.closeQuietly();
+        }
+        all.clear();
+        idle.clear();
+    }
+
+    /** A borrowed connection; closing it hands it back to the pool. */
+    final class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private Statement statement;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        Connection connection() {
+            return connection;
+        }
+
+        /** Prepared statement for {@code sql}, compiled once per connection. */
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement pstmt = statements.get(sql);
+            if (pstmt == null) {
+                pstmt = connection.prepareStatement(sql);
+                statements.put(sql, pstmt);
+            }
+            return pstmt;
+        }
+
+        Statement statement() throws SQLException {
+            if (statement == null) {
+                statement = connection.createStatement();
+            }
+            return statement;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+
+        private void closeQuietly() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
\ No newline at end of file
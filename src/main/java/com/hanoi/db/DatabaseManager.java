@@ -1,87 +1,518 @@
 package com.hanoi.db;
 
+import com.hanoi.metrics.DatabaseEvent;
+import com.hanoi.metrics.DatabaseEvent.Operation;
 import com.hanoi.model.Difficulty;
 
+import java.io.IOException;
 import java.sql.*;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
-public class DatabaseManager {
-    private static final String DB_URL = "jdbc:sqlite:hanoi_scores.db";
+/** {@link ScoreStore} on SQLite, with pooled connections and versioned schema migrations. */
+public class DatabaseManager implements ScoreStore {
+    public static final String DEFAULT_URL = "jdbc:sqlite:hanoi_scores.db";
+    private static final int DEFAULT_POOL_SIZE = 4;
     private static DatabaseManager instance;
 
-    public record ScoreRecord(String name, String difficulty, int moves, double score, String date) {}
+    /** Schema version stored in {@code PRAGMA user_version}; see {@link #migrate}. */
+    static final int SCHEMA_VERSION = 3;
 
-    private DatabaseManager() {
+    private static final String COLUMNS = "id, name, difficulty, disks, moves, score, date_played";
+    private static final String INSERT_SCORE = "INSERT INTO scores(name, difficulty, disks, moves, score, date_played, move_log) VALUES(?, ?, ?, ?, ?, ?, ?)";
+    private static final String LAST_ID = "SELECT last_insert_rowid()";
+    // Ties rank the earlier game first. Every query below is answered by walking one index from its start
+    // or from the cursor, so the cost depends on the page size and not on the size of the table.
+    private static final String TOP_SCORES = "SELECT " + COLUMNS + " FROM scores ORDER BY score DESC, id LIMIT ?";
+    private static final String TOP_SCORES_BY_DIFFICULTY = "SELECT " + COLUMNS + " FROM scores WHERE difficulty = ? ORDER BY score DESC, id LIMIT ?";
+    // "score <= ?" lets SQLite seek straight to the cursor; the OR only filters rows tied with it
+    private static final String PAGE_AFTER = "SELECT " + COLUMNS + " FROM scores WHERE score <= ? AND (score < ? OR id > ?) ORDER BY score DESC, id LIMIT ?";
+    private static final String PAGE_AFTER_BY_DIFFICULTY = "SELECT " + COLUMNS + " FROM scores WHERE difficulty = ? AND score <= ? AND (score < ? OR id > ?) ORDER BY score DESC, id LIMIT ?";
+    private static final String PLAYER_HISTORY = "SELECT " + COLUMNS + " FROM scores WHERE name = ? AND id < ? ORDER BY id DESC LIMIT ?";
+    private static final String PLAYER_TOP_SCORES = "SELECT " + COLUMNS + " FROM scores WHERE name = ? ORDER BY score DESC, id LIMIT ?";
+    private static final String BEST_SCORE = "SELECT MAX(score) as max_score FROM scores WHERE difficulty = ?";
+    private static final String PLAYER_BEST_SCORE = "SELECT MAX(score) as max_score FROM scores WHERE name = ?";
+    private static final String MOVE_LOG = "SELECT move_log FROM scores WHERE id = ?";
+    private static final String ALL_SCORES = "SELECT id, name, difficulty, disks, moves, score, date_played, move_log FROM scores ORDER BY id";
+    // Only reads the (difficulty, score) index, which already holds the id as its rowid
+    private static final String SCORES_BY_DIFFICULTY = "SELECT id, score FROM scores WHERE difficulty = ?";
+    private static final String STORED_SCORES = "SELECT id, name, difficulty, disks, moves, score, move_log FROM scores WHERE id > ? ORDER BY id LIMIT ?";
+
+    // Rows the driver steps through per fetch when streaming an export
+    private static final int EXPORT_FETCH_SIZE = 1024;
+
+    // Same format SQLite uses for CURRENT_TIMESTAMP, so cached and stored rows match exactly
+    static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private final ConnectionPool pool;
+    private final List<Consumer<List<ScoreRecord>>> listeners = new CopyOnWriteArrayList<>();
+
+    /** A stored row with everything needed to re-check it; {@code submission.difficulty()} is null if unknown. */
+    public record StoredScore(long id, ScoreSubmission submission) {}
+
+    /** A complete row as exported and imported by {@link ScoreTransfer}; the difficulty is kept as stored. */
+    public record ScoreRow(long id, String name, String difficulty, int disks, long moves, double score, String date, byte[] moveLog) {}
+
+    /** Receives the rows of an export one at a time. */
+    public interface RowHandler {
+        void accept(ScoreRow row) throws IOException;
+    }
+
+    private DatabaseManager(String url, int poolSize) {
+        this.pool = new ConnectionPool(url, poolSize);
         try {
             // Ensure driver is loaded
             Class.forName("org.sqlite.JDBC");
-            createTable();
+            migrate();
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Shared instance. The database URL and pool size can be overridden with the
+     * {@code hanoi.db.url} and {@code hanoi.db.poolSize} system properties.
+     */
     public static synchronized DatabaseManager getInstance() {
         if (instance == null) {
-            instance = new DatabaseManager();
+            instance = new DatabaseManager(
+                    System.getProperty("hanoi.db.url", DEFAULT_URL),
+                    Integer.getInteger("hanoi.db.poolSize", DEFAULT_POOL_SIZE));
         }
         return instance;
     }
 
-    private void createTable() {
+    /** Opens a separate manager on another database, e.g. for tools and load tests. Callers must close it. */
+    public static DatabaseManager open(String url, int poolSize) {
+        return new DatabaseManager(url, poolSize);
+    }
+
+    public String getUrl() {
+        return pool.getUrl();
+    }
+
+    /**
+     * Creates the table and upgrades older databases one schema version at a time.
+     * Each step runs at most once per database, tracked by {@code PRAGMA user_version}.
+     */
+    private void migrate() {
         String sql = """
             CREATE TABLE IF NOT EXISTS scores (
                 id INTEGER PRIMARY KEY AUTOINCREMENT,
                 name TEXT,
                 difficulty TEXT,
+                disks INTEGER,
                 moves INTEGER,
                 score REAL,
                 date_played TIMESTAMP DEFAULT CURRENT_TIMESTAMP
             );
         """;
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            Statement stmt = conn.statement();
             stmt.execute(sql);
+            int version;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                version = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (version >= SCHEMA_VERSION) return;
+
+            Connection connection = conn.connection();
+            connection.setAutoCommit(false);
+            if (version < 1) addDisksColumn(stmt);
+            if (version < 2) createIndexes(stmt);
+            // Packed MoveLog of each game; older rows and unrecorded games keep NULL
+            if (version < 3) stmt.execute("ALTER TABLE scores ADD COLUMN move_log BLOB");
+            stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
+            connection.commit();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Databases created before custom difficulties have no disks column.
+     * Add it and backfill the fixed disk counts of the built-in levels.
+     */
+    private void addDisksColumn(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(scores)")) {
+            while (rs.next()) {
+                if ("disks".equalsIgnoreCase(rs.getString("name"))) return;
+            }
+        }
+        stmt.execute("ALTER TABLE scores ADD COLUMN disks INTEGER");
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.isCustom()) continue;
+            stmt.execute("UPDATE scores SET disks = " + difficulty.getDisks()
+                    + " WHERE disks IS NULL AND difficulty = '" + difficulty.name() + "'");
+        }
+    }
+
+    /**
+     * Indexes for the leaderboard and player queries. SQLite appends the rowid (our id) to every index entry,
+     * so ties on score are already ordered by id and MAX(score) lookups never touch the table.
+     */
+    private void createIndexes(Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_scores_score ON scores(score DESC)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_scores_difficulty_score ON scores(difficulty, score DESC)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_scores_name_score ON scores(name, score DESC)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_scores_name ON scores(name)");
+    }
+
+    /** Drops the indexes made by {@link #createIndexes}, for bulk loads. */
+    private void dropIndexes(Statement stmt) throws SQLException {
+        stmt.execute("DROP INDEX IF EXISTS idx_scores_score");
+        stmt.execute("DROP INDEX IF EXISTS idx_scores_difficulty_score");
+        stmt.execute("DROP INDEX IF EXISTS idx_scores_name_score");
+        stmt.execute("DROP INDEX IF EXISTS idx_scores_name");
+    }
+
+    /**
+     * Inserts many scores in a single transaction using a JDBC batch.
+     * Either every score is stored or, on error, none of them.
+     */
+    @Override
+    public void addScores(List<ScoreSubmission> submissions) throws SQLException {
+        if (submissions.isEmpty()) return;
+        String date = TIMESTAMP.format(Instant.now());
+        List<ScoreRow> rows = new ArrayList<>(submissions.size());
+        for (ScoreSubmission s : submissions) {
+            rows.add(new ScoreRow(0, s.name(), s.difficulty().name(), s.disks(), s.moves(), s.score(), date, s.moveLog()));
+        }
+        insertRows(rows, Operation.INSERT);
+    }
+
+    /**
+     * Bulk load: inserts {@code rows} in transactions of {@code chunkSize}, each written as one batch of
+     * prepared inserts, so only one chunk is ever held in memory. Rows get new ids; dates and move logs are
+     * kept, and a row without a date is stamped with the current time. Listeners receive every committed
+     * chunk as if it had come through {@link #addScores}. If a chunk fails, the ones before it stay stored.
+     *
+     * <p>Into an empty table the indexes are dropped for the load and rebuilt at the end, which sorts each
+     * one once instead of inserting into it at random; leaderboard queries scan the table until then.
+     *
+     * @return the number of rows inserted
+     */
+    public long importScores(Iterator<ScoreRow> rows, int chunkSize) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        boolean rebuildIndexes = isEmpty();
+        if (rebuildIndexes) {
+            try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+                dropIndexes(conn.statement());
+            }
+        }
+        List<ScoreRow> chunk = new ArrayList<>(chunkSize);
+        long imported = 0;
+        try {
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == chunkSize || !rows.hasNext()) {
+                    insertRows(chunk, Operation.IMPORT);
+                    imported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } finally {
+            if (rebuildIndexes) {
+                try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+                    createIndexes(conn.statement());
+                }
+            }
+        }
+        return imported;
+    }
+
+    private boolean isEmpty() throws SQLException {
+        try (ConnectionPool.PooledConnection conn = pool.acquire();
+             ResultSet rs = conn.statement().executeQuery("SELECT NOT EXISTS (SELECT 1 FROM scores)")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /** Inserts {@code rows} in one transaction and tells the listeners. Row ids are ignored. */
+    private void insertRows(List<ScoreRow> rows, Operation operation) throws SQLException {
+        if (rows.isEmpty()) return;
+        String now = null;
+        List<ScoreRecord> records = new ArrayList<>(rows.size());
+        DatabaseEvent event = new DatabaseEvent(operation);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            Connection connection = conn.connection();
+            connection.setAutoCommit(false);
+            PreparedStatement pstmt = conn.prepare(INSERT_SCORE);
+            for (ScoreRow r : rows) {
+                pstmt.setString(1, r.name());
+                pstmt.setString(2, r.difficulty());
+                pstmt.setInt(3, r.disks());
+                pstmt.setLong(4, r.moves());
+                pstmt.setDouble(5, r.score());
+                if (r.date() == null && now == null) {
+                    now = TIMESTAMP.format(Instant.now());
+                }
+                pstmt.setString(6, r.date() != null ? r.date() : now);
+                pstmt.setBytes(7, r.moveLog());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            // A transaction has the database to itself, so AUTOINCREMENT hands out consecutive ids
+            long id;
+            try (ResultSet rs = conn.prepare(LAST_ID).executeQuery()) {
+                rs.next();
+                id = rs.getLong(1) - rows.size() + 1;
+            }
+            connection.commit();
+            for (ScoreRow r : rows) {
+                records.add(new ScoreRecord(id++, r.name(), r.difficulty(), r.disks(), r.moves(), r.score(),
+                        r.date() != null ? r.date() : now));
+            }
+            event.rows = records.size();
+        } finally {
+            event.finish();
+        }
+        for (Consumer<List<ScoreRecord>> listener : listeners) {
+            listener.accept(records);
+        }
+    }
+
+    /** Registers a callback that receives every batch of scores right after it is committed. */
+    @Override
+    public void addListener(Consumer<List<ScoreRecord>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Consumer<List<ScoreRecord>> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public List<ScoreRecord> getTopScores(int limit) {
+        DatabaseEvent event = new DatabaseEvent(Operation.TOP_SCORES);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(TOP_SCORES);
+            pstmt.setInt(1, limit);
+            return readScores(pstmt, event);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<ScoreRecord> getTopScores(Difficulty difficulty, int limit) {
+        DatabaseEvent event = new DatabaseEvent(Operation.TOP_SCORES);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(TOP_SCORES_BY_DIFFICULTY);
+            pstmt.setString(1, difficulty.name());
+            pstmt.setInt(2, limit);
+            return readScores(pstmt, event);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Page getLeaderboardPage(Cursor after, int pageSize) {
+        DatabaseEvent event = new DatabaseEvent(Operation.LEADERBOARD_PAGE);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(PAGE_AFTER);
+            pstmt.setDouble(1, after.score());
+            pstmt.setDouble(2, after.score());
+            pstmt.setLong(3, after.id());
+            pstmt.setInt(4, pageSize);
+            return Page.of(readScores(pstmt, event), pageSize);
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            event.finish();
         }
+        return new Page(new ArrayList<>(), null);
     }
 
-    public void addScore(String name, Difficulty difficulty, int moves, double score) {
-        String sql = "INSERT INTO scores(name, difficulty, moves, score) VALUES(?, ?, ?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    @Override
+    public Page getLeaderboardPage(Difficulty difficulty, Cursor after, int pageSize) {
+        DatabaseEvent event = new DatabaseEvent(Operation.LEADERBOARD_PAGE);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(PAGE_AFTER_BY_DIFFICULTY);
+            pstmt.setString(1, difficulty.name());
+            pstmt.setDouble(2, after.score());
+            pstmt.setDouble(3, after.score());
+            pstmt.setLong(4, after.id());
+            pstmt.setInt(5, pageSize);
+            return Page.of(readScores(pstmt, event), pageSize);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return new Page(new ArrayList<>(), null);
+    }
+
+    @Override
+    public List<ScoreRecord> getPlayerHistory(String name, long beforeId, int limit) {
+        DatabaseEvent event = new DatabaseEvent(Operation.PLAYER_HISTORY);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(PLAYER_HISTORY);
             pstmt.setString(1, name);
-            pstmt.setString(2, difficulty.name());
-            pstmt.setInt(3, moves);
-            pstmt.setDouble(4, score);
-            pstmt.executeUpdate();
+            pstmt.setLong(2, beforeId);
+            pstmt.setInt(3, limit);
+            return readScores(pstmt, event);
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            event.finish();
         }
+        return new ArrayList<>();
     }
 
-    public List<ScoreRecord> getTopScores() {
-        List<ScoreRecord> scores = new ArrayList<>();
-        String sql = "SELECT name, difficulty, moves, score, date_played FROM scores ORDER BY score DESC LIMIT 5";
+    @Override
+    public List<ScoreRecord> getPlayerTopScores(String name, int limit) {
+        DatabaseEvent event = new DatabaseEvent(Operation.PLAYER_TOP_SCORES);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(PLAYER_TOP_SCORES);
+            pstmt.setString(1, name);
+            pstmt.setInt(2, limit);
+            return readScores(pstmt, event);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return new ArrayList<>();
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    @Override
+    public double getPlayerBestScore(String name) {
+        DatabaseEvent event = new DatabaseEvent(Operation.PLAYER_BEST_SCORE);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(PLAYER_BEST_SCORE);
+            pstmt.setString(1, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    event.rows = 1;
+                    return rs.getDouble("max_score");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return 0.0;
+    }
 
+    /** The packed move log stored with a score, or null if the game was not recorded. */
+    public byte[] getMoveLog(long id) {
+        DatabaseEvent event = new DatabaseEvent(Operation.MOVE_LOG);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(MOVE_LOG);
+            pstmt.setLong(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    event.rows = 1;
+                    return rs.getBytes("move_log");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return null;
+    }
+
+    /** Up to {@code limit} stored scores with their move logs, in id order starting after {@code afterId}. */
+    public List<StoredScore> getStoredScores(long afterId, int limit) throws SQLException {
+        List<StoredScore> scores = new ArrayList<>(limit);
+        DatabaseEvent event = new DatabaseEvent(Operation.STORED_SCORES);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(STORED_SCORES);
+            pstmt.setLong(1, afterId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String level = rs.getString("difficulty");
+                    Difficulty difficulty = null;
+                    for (Difficulty d : Difficulty.values()) {
+                        if (d.name().equals(level)) difficulty = d;
+                    }
+                    scores.add(new StoredScore(rs.getLong("id"), new ScoreSubmission(
+                            rs.getString("name"),
+                            difficulty,
+                            rs.getInt("disks"),
+                            rs.getLong("moves"),
+                            rs.getDouble("score"),
+                            rs.getBytes("move_log"))));
+                }
+            }
+            event.rows = scores.size();
+        } finally {
+            event.finish();
+        }
+        return scores;
+    }
+
+    /**
+     * Streams every stored score in id order through one forward-only cursor, so memory use does not depend
+     * on the size of the table. The query reads a single snapshot, and in WAL mode writers are not blocked
+     * while it runs.
+     *
+     * @return the number of rows passed to {@code handler}
+     */
+    public long exportScores(RowHandler handler) throws SQLException, IOException {
+        long exported = 0;
+        DatabaseEvent event = new DatabaseEvent(Operation.EXPORT);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(ALL_SCORES);
+            pstmt.setFetchSize(EXPORT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(new ScoreRow(
+                            rs.getLong("id"),
+                            rs.getString("name"),
+                            rs.getString("difficulty"),
+                            rs.getInt("disks"),
+                            rs.getLong("moves"),
+                            rs.getDouble("score"),
+                            rs.getString("date_played"),
+                            rs.getBytes("move_log")));
+                    exported++;
+                }
+            }
+            event.rows = (int) Math.min(exported, Integer.MAX_VALUE);
+        } finally {
+            event.finish();
+        }
+        return exported;
+    }
+
+    private List<ScoreRecord> readScores(PreparedStatement pstmt, DatabaseEvent event) throws SQLException {
+        List<ScoreRecord> scores = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
                 scores.add(new ScoreRecord(
+                        rs.getLong("id"),
                         rs.getString("name"),
                         rs.getString("difficulty"),
-                        rs.getInt("moves"),
+                        rs.getInt("disks"),
+                        rs.getLong("moves"),
                         rs.getDouble("score"),
                         rs.getString("date_played")
                 ));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
+        event.rows = scores.size();
         return scores;
     }
 
@@ -89,19 +520,52 @@ public class DatabaseManager {
      * Returns the highest score achieved for a specific difficulty.
      * Used to determine if the next level should be unlocked.
      */
+    @Override
     public double getBestScore(Difficulty difficulty) {
-        String sql = "SELECT MAX(score) as max_score FROM scores WHERE difficulty = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        DatabaseEvent event = new DatabaseEvent(Operation.BEST_SCORE);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(BEST_SCORE);
             pstmt.setString(1, difficulty.name());
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
+                    event.rows = 1;
                     return rs.getDouble("max_score");
                 }
             }
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            event.finish();
         }
         return 0.0;
     }
+
+    @Override
+    public long scanScores(Difficulty difficulty, ScoreVisitor visitor) {
+        long scanned = 0;
+        DatabaseEvent event = new DatabaseEvent(Operation.SCAN_SCORES);
+        try (ConnectionPool.PooledConnection conn = pool.acquire()) {
+            PreparedStatement pstmt = conn.prepare(SCORES_BY_DIFFICULTY);
+            pstmt.setString(1, difficulty.name());
+            pstmt.setFetchSize(EXPORT_FETCH_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    visitor.accept(rs.getLong(1), rs.getDouble(2));
+                    scanned++;
+                }
+            }
+            event.rows = (int) Math.min(scanned, Integer.MAX_VALUE);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            event.finish();
+        }
+        return scanned;
+    }
+
+    /** Closes every pooled connection. */
+    @Override
+    public void close() {
+        pool.close();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.hanoi.db;
+
+import com.hanoi.db.ScoreStore.ScoreRecord;
+import com.hanoi.model.Difficulty;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory leaderboards so the welcome screen never has to query SQLite. The cache is warmed once with the
+ * best {@code capacity} scores overall and per difficulty, then kept current through a
+ * {@link ScoreStore} listener that sees every committed score.
+ */
+public final class LeaderboardCache {
+
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private static LeaderboardCache instance;
+
+    private final int capacity;
+    private final TopScores global;
+    private final Map<Difficulty, TopScores> byDifficulty = new EnumMap<>(Difficulty.class);
+
+    public LeaderboardCache(ScoreStore store, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.global = new TopScores(capacity);
+        for (Difficulty difficulty : Difficulty.values()) {
+            byDifficulty.put(difficulty, new TopScores(capacity));
+        }
+        // Subscribe before warming up so no score committed in between is missed; one that is both
+        // read and delivered is recognised by its id
+        synchronized (this) {
+            store.addListener(this::onScoresAdded);
+            global.addAll(store.getTopScores(capacity));
+            for (Difficulty difficulty : Difficulty.values()) {
+                byDifficulty.get(difficulty).addAll(store.getTopScores(difficulty, capacity));
+            }
+        }
+    }
+
+    public static synchronized LeaderboardCache getInstance() {
+        if (instance == null) {
+            instance = new LeaderboardCache(ScoreStore.getInstance(), DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Best {@code limit} scores across all difficulties, highest first. */
+    public synchronized List<ScoreRecord> getTopScores(int limit) {
+        return global.head(limit);
+    }
+
+    /** Best {@code limit} scores for one difficulty, highest first. */
+    public synchronized List<ScoreRecord> getTopScores(Difficulty difficulty, int limit) {
+        return byDifficulty.get(difficulty).head(limit);
+    }
+
+    /** Highest score for a difficulty, or 0 if nobody has finished it yet. */
+    public synchronized double getBestScore(Difficulty difficulty) {
+        return byDifficulty.get(difficulty).best();
+    }
+
+    private synchronized void onScoresAdded(List<ScoreRecord> records) {
+        for (ScoreRecord record : records) {
+            global.add(record);
+            TopScores scores = byDifficulty.get(Difficulty.valueOf(record.difficulty()));
+            scores.add(record);
+        }
+    }
+
+    /** Bounded list in leaderboard order: descending score, then ascending id, like the SQL queries. */
+    private static final class TopScores {
+        private final int capacity;
+        private final List<ScoreRecord> scores;
+
+        TopScores(int capacity) {
+            this.capacity = capacity;
+            this.scores = new ArrayList<>(capacity + 1);
+        }
+
+        void addAll(List<ScoreRecord> records) {
+            for (ScoreRecord record : records) {
+                add(record);
+            }
+        }
+
+        void add(ScoreRecord record) {
+            int size = scores.size();
+            if (size == capacity && !ranksAbove(record, scores.get(size - 1))) return;
+
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ranksAbove(record, scores.get(mid))) high = mid;
+                else low = mid + 1;
+            }
+            if (low > 0 && scores.get(low - 1).id() == record.id()) return;
+            scores.add(low, record);
+            if (scores.size() > capacity) {
+                scores.remove(scores.size() - 1);
+            }
+        }
+
+        private static boolean ranksAbove(ScoreRecord a, ScoreRecord b) {
+            return a.score() > b.score() || (a.score() == b.score() && a.id() < b.id());
+        }
+
+        List<ScoreRecord> head(int limit) {
+            return List.copyOf(scores.subList(0, Math.min(limit, scores.size())));
+        }
+
+        double best() {
+            return scores.isEmpty() ? 0.0 : scores.get(0).score();
+        }
+    }
+}
\ No newline at end of file
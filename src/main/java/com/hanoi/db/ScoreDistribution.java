@@ -0,0 +1,139 @@
+package com.hanoi.db;
+
+import com.hanoi.db.ScoreStore.ScoreRecord;
+import com.hanoi.model.Difficulty;
+
+import java.util.List;
+
+/**
+ * How every stored score is spread out, per difficulty, so a finished game can be ranked without counting
+ * rows in SQLite. Scores are bucketed to {@link #RESOLUTION} points between 0 and {@link #MAX_SCORE}, and each
+ * difficulty keeps a Fenwick tree over its buckets: adding a score and asking how many scored below or above
+ * it both take O(log buckets), however many games have been stored.
+ *
+ * <p>Built once by scanning the store, then kept current through a {@link ScoreStore} listener
+ * like {@link LeaderboardCache}.
+ */
+public final class ScoreDistribution {
+
+    public static final double MAX_SCORE = 100.0;
+    /** Scores closer than this fall in the same bucket and rank as ties. */
+    public static final double RESOLUTION = 0.01;
+    private static final int BUCKETS = (int) Math.round(MAX_SCORE / RESOLUTION) + 1;
+
+    private static ScoreDistribution instance;
+
+    private final Histogram[] histograms = new Histogram[Difficulty.values().length];
+
+    public ScoreDistribution(ScoreStore store) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            histograms[difficulty.ordinal()] = new Histogram();
+        }
+        // Subscribe before scanning, as LeaderboardCache does. Each scan is one snapshot, so any score with a
+        // higher id than the last one it saw was committed after it and is left to the listener.
+        synchronized (this) {
+            store.addListener(this::onScoresAdded);
+            for (Difficulty difficulty : Difficulty.values()) {
+                Histogram histogram = histograms[difficulty.ordinal()];
+                store.scanScores(difficulty, (id, score) -> {
+                    histogram.add(bucket(score));
+                    histogram.scannedTo = Math.max(histogram.scannedTo, id);
+                });
+            }
+        }
+    }
+
+    public static synchronized ScoreDistribution getInstance() {
+        if (instance == null) {
+            instance = new ScoreDistribution(ScoreStore.getInstance());
+        }
+        return instance;
+    }
+
+    /** Number of games stored for a difficulty. */
+    public synchronized long getCount(Difficulty difficulty) {
+        return histograms[difficulty.ordinal()].total;
+    }
+
+    /** Number of games on a difficulty that scored less than {@code score}. */
+    public synchronized long countBelow(Difficulty difficulty, double score) {
+        return histograms[difficulty.ordinal()].prefix(bucket(score));
+    }
+
+    /** Number of games on a difficulty that scored more than {@code score}. */
+    public synchronized long countAbove(Difficulty difficulty, double score) {
+        Histogram histogram = histograms[difficulty.ordinal()];
+        return histogram.total - histogram.prefix(bucket(score) + 1);
+    }
+
+    /** Leaderboard position {@code score} would take on a difficulty, 1 being the best; ties share a rank. */
+    public synchronized long rankOf(Difficulty difficulty, double score) {
+        return countAbove(difficulty, score) + 1;
+    }
+
+    /**
+     * Percentage of games on a difficulty that scored less than {@code score}, from 0 to 100, or NaN if
+     * there are none yet.
+     */
+    public synchronized double percentileOf(Difficulty difficulty, double score) {
+        long total = getCount(difficulty);
+        return total == 0 ? Double.NaN : 100.0 * countBelow(difficulty, score) / total;
+    }
+
+    /**
+     * Games per score range on a difficulty, for charts: {@code bins} equal ranges from 0 to
+     * {@link #MAX_SCORE}, the last one including the maximum.
+     */
+    public synchronized long[] histogram(Difficulty difficulty, int bins) {
+        if (bins < 1 || bins > BUCKETS - 1) {
+            throw new IllegalArgumentException("Bins must be between 1 and " + (BUCKETS - 1) + ": " + bins);
+        }
+        Histogram histogram = histograms[difficulty.ordinal()];
+        long[] counts = new long[bins];
+        long below = 0;
+        for (int i = 0; i < bins; i++) {
+            long upTo = histogram.prefix(i + 1 == bins ? BUCKETS : (int) ((long) (i + 1) * (BUCKETS - 1) / bins));
+            counts[i] = upTo - below;
+            below = upTo;
+        }
+        return counts;
+    }
+
+    private synchronized void onScoresAdded(List<ScoreRecord> records) {
+        for (ScoreRecord record : records) {
+            Histogram histogram = histograms[Difficulty.valueOf(record.difficulty()).ordinal()];
+            if (record.id() > histogram.scannedTo) {
+                histogram.add(bucket(record.score()));
+            }
+        }
+    }
+
+    private static int bucket(double score) {
+        if (!(score > 0)) return 0;
+        return (int) Math.min(Math.round(score / RESOLUTION), BUCKETS - 1);
+    }
+
+    /** Fenwick tree of game counts per bucket. */
+    private static final class Histogram {
+        // 1-based; tree[i] holds the count of buckets (i - lowbit(i), i]
+        private final long[] tree = new long[BUCKETS + 1];
+        private long total;
+        private long scannedTo;
+
+        void add(int bucket) {
+            for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+                tree[i]++;
+            }
+            total++;
+        }
+
+        /** Games in the buckets below {@code bucket}. */
+        long prefix(int bucket) {
+            long sum = 0;
+            for (int i = bucket; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
\ No newline at end of file
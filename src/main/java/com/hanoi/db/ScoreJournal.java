@@ -0,0 +1,475 @@
+package com.hanoi.db;
+
+import com.hanoi.metrics.DatabaseEvent;
+import com.hanoi.metrics.DatabaseEvent.Operation;
+import com.hanoi.model.Difficulty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link ScoreStore} that appends every score as a fixed-width binary record to a memory-mapped file and
+ * answers every query from indexes kept in memory. Storing a score is a copy into the page cache, with no
+ * SQL, JDBC or native code in the way.
+ *
+ * <p>The file is a {@value #RECORD_SIZE}-byte header followed by one {@value #RECORD_SIZE}-byte record per
+ * score; a score's id is its position plus one. The file grows in mapped segments of
+ * {@link #SEGMENT_RECORDS} records. Each record carries a CRC32C of its contents and the last record of
+ * every batch is marked, so opening the journal scans it from the start, rebuilds the indexes from every
+ * complete batch and clears whatever a crash left half-written after them.
+ *
+ * <p>To keep records fixed width, names are cut to {@value #NAME_BYTES} bytes of UTF-8 and move logs are
+ * not kept. Without {@code sync} a crashed process loses nothing, as its writes already sit in the OS page
+ * cache, but a power failure can lose the latest batches; with it every batch is forced to disk before
+ * {@link #addScores} returns.
+ */
+public final class ScoreJournal implements ScoreStore {
+
+    public static final String DEFAULT_FILE = "hanoi_scores.journal";
+    public static final int RECORD_SIZE = 96;
+    public static final int NAME_BYTES = 56;
+    public static final int SEGMENT_RECORDS = 1 << 15;
+
+    private static final long MAGIC = 0x48414E4F494A4E4CL; // "HANOIJNL"
+    private static final int VERSION = 1;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_SIZE;
+
+    // Record layout, big-endian
+    private static final int CHECKSUM = 0;    // int, CRC32C of the rest of the record
+    private static final int FLAGS = 4;       // byte
+    private static final int DIFFICULTY = 5;  // byte, Difficulty ordinal
+    private static final int NAME_LENGTH = 6; // short, -1 for no name
+    private static final int DISKS = 8;       // int
+    private static final int RESERVED = 12;   // int, zero
+    private static final int MOVES = 16;      // long
+    private static final int SCORE = 24;      // double
+    private static final int DATE = 32;       // long, epoch seconds
+    private static final int NAME = 40;       // NAME_BYTES of UTF-8
+    private static final byte PRESENT = 1;
+    private static final byte END_OF_BATCH = 2;
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final Comparator<ScoreRecord> LEADERBOARD =
+            Comparator.comparingDouble(ScoreRecord::score).reversed().thenComparingLong(ScoreRecord::id);
+
+    private static ScoreJournal instance;
+
+    private final Path file;
+    private final boolean sync;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final CRC32C crc = new CRC32C();
+    private final List<Consumer<List<ScoreRecord>>> listeners = new CopyOnWriteArrayList<>();
+    private boolean closed;
+
+    // Indexes, rebuilt on open; records.get(i) has id i + 1
+    private final List<ScoreRecord> records = new ArrayList<>();
+    private final NavigableSet<ScoreRecord> leaderboard = new TreeSet<>(LEADERBOARD);
+    private final Map<Difficulty, NavigableSet<ScoreRecord>> byDifficulty = new EnumMap<>(Difficulty.class);
+    private final Map<String, Player> players = new HashMap<>();
+
+    // Records stored in the same second share one date string
+    private long lastEpochSecond = Long.MIN_VALUE;
+    private String lastDate;
+
+    /** Opens or creates the journal at {@code file}, which only one process may have open at a time. */
+    public ScoreJournal(Path file, boolean sync) throws IOException {
+        this.file = file;
+        this.sync = sync;
+        for (Difficulty difficulty : Difficulty.values()) {
+            byDifficulty.put(difficulty, new TreeSet<>(LEADERBOARD));
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException("Journal is open in another process: " + file);
+            }
+            readHeader();
+            recover();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Shared journal at the {@code hanoi.journal.file} system property, or {@link #DEFAULT_FILE}. Setting
+     * {@code hanoi.journal.sync} to true forces every batch to disk.
+     */
+    public static synchronized ScoreJournal getInstance() {
+        if (instance == null) {
+            try {
+                instance = new ScoreJournal(Path.of(System.getProperty("hanoi.journal.file", DEFAULT_FILE)),
+                        Boolean.getBoolean("hanoi.journal.sync"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return instance;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** Number of scores stored. */
+    public synchronized int size() {
+        return records.size();
+    }
+
+    /** Writes the batch after the last stored record, marks its end, then indexes it and tells the listeners. */
+    @Override
+    public void addScores(List<ScoreSubmission> submissions) throws IOException {
+        if (submissions.isEmpty()) return;
+        List<ScoreRecord> stored = new ArrayList<>(submissions.size());
+        DatabaseEvent event = new DatabaseEvent(Operation.INSERT);
+        try {
+            synchronized (this) {
+                if (closed) throw new IOException("Journal is closed: " + file);
+                long epochSecond = Instant.now().getEpochSecond();
+                String date = formatDate(epochSecond);
+                int first = records.size();
+                int count = submissions.size();
+                for (int i = 0; i < count; i++) {
+                    ScoreSubmission submission = submissions.get(i);
+                    byte[] name = encodeName(submission.name());
+                    long index = first + i;
+                    write(segment(index), offset(index), submission, name, epochSecond, i == count - 1);
+                    stored.add(new ScoreRecord(index + 1, name == null ? null : new String(name, StandardCharsets.UTF_8),
+                            submission.difficulty().name(), submission.disks(), submission.moves(), submission.score(), date));
+                }
+                if (sync) force(first, count);
+                // Only indexed once the whole batch is written; a failure above leaves it to be overwritten
+                for (ScoreRecord record : stored) {
+                    index(record);
+                }
+            }
+            event.rows = stored.size();
+        } finally {
+            event.finish();
+        }
+        for (Consumer<List<ScoreRecord>> listener : listeners) {
+            listener.accept(stored);
+        }
+    }
+
+    @Override
+    public void addListener(Consumer<List<ScoreRecord>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Consumer<List<ScoreRecord>> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized List<ScoreRecord> getTopScores(int limit) {
+        return head(leaderboard, limit);
+    }
+
+    @Override
+    public synchronized List<ScoreRecord> getTopScores(Difficulty difficulty, int limit) {
+        return head(byDifficulty.get(difficulty), limit);
+    }
+
+    @Override
+    public synchronized Page getLeaderboardPage(Cursor after, int pageSize) {
+        return Page.of(head(leaderboard.tailSet(probe(after), false), pageSize), pageSize);
+    }
+
+    @Override
+    public synchronized Page getLeaderboardPage(Difficulty difficulty, Cursor after, int pageSize) {
+        return Page.of(head(byDifficulty.get(difficulty).tailSet(probe(after), false), pageSize), pageSize);
+    }
+
+    @Override
+    public synchronized List<ScoreRecord> getPlayerHistory(String name, long beforeId, int limit) {
+        List<ScoreRecord> history = new ArrayList<>();
+        Player player = players.get(name);
+        if (player == null) return history;
+
+        // Games are in id order; find the first one at or after beforeId and walk back from there
+        List<ScoreRecord> games = player.games;
+        int low = 0;
+        int high = games.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (games.get(mid).id() < beforeId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low - 1; i >= 0 && history.size() < limit; i--) {
+            history.add(games.get(i));
+        }
+        return history;
+    }
+
+    @Override
+    public synchronized List<ScoreRecord> getPlayerTopScores(String name, int limit) {
+        Player player = players.get(name);
+        return player == null ? new ArrayList<>() : head(player.best, limit);
+    }
+
+    @Override
+    public synchronized double getPlayerBestScore(String name) {
+        Player player = players.get(name);
+        return player == null ? 0.0 : player.best.first().score();
+    }
+
+    @Override
+    public synchronized double getBestScore(Difficulty difficulty) {
+        NavigableSet<ScoreRecord> scores = byDifficulty.get(difficulty);
+        return scores.isEmpty() ? 0.0 : scores.first().score();
+    }
+
+    @Override
+    public synchronized long scanScores(Difficulty difficulty, ScoreVisitor visitor) {
+        NavigableSet<ScoreRecord> scores = byDifficulty.get(difficulty);
+        for (ScoreRecord record : scores) {
+            visitor.accept(record.id(), record.score());
+        }
+        return scores.size();
+    }
+
+    /** Releases the file. The mappings themselves go away once they are garbage collected. */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        segments.clear();
+        try {
+            lock.release();
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+        if (channel.size() == 0) {
+            header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).clear();
+            channel.write(header, 0);
+            channel.force(true);
+            return;
+        }
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Keep reading until the header is full or the file ends
+        }
+        header.flip();
+        if (header.remaining() < 16 || header.getLong() != MAGIC) {
+            throw new IOException("Not a score journal: " + file);
+        }
+        int version = header.getInt();
+        int recordSize = header.getInt();
+        if (version != VERSION || recordSize != RECORD_SIZE) {
+            throw new IOException("Unsupported journal version " + version + " with " + recordSize + "-byte records: " + file);
+        }
+    }
+
+    /**
+     * Rebuilds the indexes with one pass over the file, stopping at the first record that is missing or
+     * fails its checksum. Records of a batch are only indexed once its last one has been read, so a batch
+     * cut short by a crash is dropped whole, and then cleared along with anything after it.
+     */
+    private void recover() throws IOException {
+        long capacity = Math.max(0, (channel.size() - RECORD_SIZE) / RECORD_SIZE);
+        List<ScoreRecord> batch = new ArrayList<>();
+        for (long index = 0; index < capacity; index++) {
+            MappedByteBuffer segment = segment(index);
+            int offset = offset(index);
+            byte flags = segment.get(offset + FLAGS);
+            if ((flags & PRESENT) == 0 || segment.getInt(offset + CHECKSUM) != checksum(segment, offset)) break;
+
+            batch.add(read(segment, offset, index + 1));
+            if ((flags & END_OF_BATCH) != 0) {
+                records.addAll(batch);
+                batch.clear();
+            }
+        }
+        clear(records.size(), capacity);
+
+        // Inserting in leaderboard order keeps each walk down the trees on the path just taken, which cut
+        // the time to open a large journal by about a third compared with inserting in id order
+        List<ScoreRecord> ranked = new ArrayList<>(records);
+        ranked.sort(LEADERBOARD);
+        for (ScoreRecord record : ranked) {
+            leaderboard.add(record);
+            byDifficulty.get(Difficulty.valueOf(record.difficulty())).add(record);
+            if (record.name() != null) {
+                players.computeIfAbsent(record.name(), name -> new Player()).best.add(record);
+            }
+        }
+        for (ScoreRecord record : records) {
+            if (record.name() != null) {
+                players.get(record.name()).games.add(record);
+            }
+        }
+    }
+
+    /** Zeroes every record from {@code from} to {@code to} that is not empty already. */
+    private void clear(long from, long to) throws IOException {
+        boolean cleared = false;
+        for (long index = from; index < to; index++) {
+            MappedByteBuffer segment = segment(index);
+            int offset = offset(index);
+            for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+                if (segment.getLong(offset + i) != 0) {
+                    segment.put(offset, new byte[RECORD_SIZE]);
+                    cleared = true;
+                    break;
+                }
+            }
+        }
+        if (cleared) {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    private void write(MappedByteBuffer segment, int offset, ScoreSubmission submission, byte[] name,
+                       long epochSecond, boolean last) {
+        int nameLength = name == null ? 0 : name.length;
+        segment.put(offset + FLAGS, last ? (byte) (PRESENT | END_OF_BATCH) : PRESENT);
+        segment.put(offset + DIFFICULTY, (byte) submission.difficulty().ordinal());
+        segment.putShort(offset + NAME_LENGTH, (short) (name == null ? -1 : nameLength));
+        segment.putInt(offset + DISKS, submission.disks());
+        segment.putInt(offset + RESERVED, 0);
+        segment.putLong(offset + MOVES, submission.moves());
+        segment.putDouble(offset + SCORE, submission.score());
+        segment.putLong(offset + DATE, epochSecond);
+        if (name != null) segment.put(offset + NAME, name);
+        // The slot may hold an older, longer name from a batch that never completed
+        for (int i = nameLength; i < NAME_BYTES; i++) {
+            segment.put(offset + NAME + i, (byte) 0);
+        }
+        segment.putInt(offset + CHECKSUM, checksum(segment, offset));
+    }
+
+    private ScoreRecord read(MappedByteBuffer segment, int offset, long id) {
+        short nameLength = segment.getShort(offset + NAME_LENGTH);
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            segment.get(offset + NAME, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new ScoreRecord(id, name,
+                DIFFICULTIES[segment.get(offset + DIFFICULTY)].name(),
+                segment.getInt(offset + DISKS),
+                segment.getLong(offset + MOVES),
+                segment.getDouble(offset + SCORE),
+                formatDate(segment.getLong(offset + DATE)));
+    }
+
+    private int checksum(MappedByteBuffer segment, int offset) {
+        crc.reset();
+        crc.update(segment.slice(offset + FLAGS, RECORD_SIZE - FLAGS));
+        return (int) crc.getValue();
+    }
+
+    /** Forces {@code count} records starting at {@code first} to disk, one segment at a time. */
+    private void force(long first, int count) throws IOException {
+        long end = first + count;
+        for (long index = first; index < end; ) {
+            long segmentEnd = Math.min(end, (index / SEGMENT_RECORDS + 1) * SEGMENT_RECORDS);
+            segment(index).force(offset(index), (int) (segmentEnd - index) * RECORD_SIZE);
+            index = segmentEnd;
+        }
+    }
+
+    /** The segment holding record {@code index}, mapping it (and growing the file) on first use. */
+    private MappedByteBuffer segment(long index) throws IOException {
+        int segment = (int) (index / SEGMENT_RECORDS);
+        while (segments.size() <= segment) {
+            long position = RECORD_SIZE + segments.size() * SEGMENT_BYTES;
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_BYTES));
+        }
+        return segments.get(segment);
+    }
+
+    private static int offset(long index) {
+        return (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    private void index(ScoreRecord record) {
+        records.add(record);
+        leaderboard.add(record);
+        byDifficulty.get(Difficulty.valueOf(record.difficulty())).add(record);
+        if (record.name() != null) {
+            players.computeIfAbsent(record.name(), name -> new Player()).add(record);
+        }
+    }
+
+    private String formatDate(long epochSecond) {
+        if (epochSecond != lastEpochSecond) {
+            lastEpochSecond = epochSecond;
+            lastDate = DatabaseManager.TIMESTAMP.format(Instant.ofEpochSecond(epochSecond));
+        }
+        return lastDate;
+    }
+
+    /** UTF-8 bytes of {@code name}, cut to {@link #NAME_BYTES} without splitting a character. */
+    private static byte[] encodeName(String name) {
+        if (name == null) return null;
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= NAME_BYTES) return bytes;
+        int end = NAME_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    /** Key that sorts exactly where the row {@code after} points at does. */
+    private static ScoreRecord probe(Cursor after) {
+        return new ScoreRecord(after.id(), null, null, 0, 0, after.score(), null);
+    }
+
+    private static List<ScoreRecord> head(NavigableSet<ScoreRecord> scores, int limit) {
+        List<ScoreRecord> head = new ArrayList<>(Math.max(0, Math.min(limit, scores.size())));
+        Iterator<ScoreRecord> iterator = scores.iterator();
+        while (head.size() < limit && iterator.hasNext()) {
+            head.add(iterator.next());
+        }
+        return head;
+    }
+
+    /** One player's games, in id order and in leaderboard order. */
+    private static final class Player {
+        final List<ScoreRecord> games = new ArrayList<>();
+        final NavigableSet<ScoreRecord> best = new TreeSet<>(LEADERBOARD);
+
+        void add(ScoreRecord record) {
+            games.add(record);
+            best.add(record);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.hanoi.db;
+
+import com.hanoi.model.Difficulty;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where finished games are kept and how the leaderboards read them back. {@link DatabaseManager} stores
+ * them in SQLite; {@link ScoreJournal} appends them to a memory-mapped file and answers queries from memory.
+ *
+ * <p>Leaderboards are ordered by descending score, then ascending id, in every implementation.
+ */
+public interface ScoreStore extends AutoCloseable {
+
+    record ScoreRecord(long id, String name, String difficulty, int disks, long moves, double score, String date) {
+
+        /** Cursor that continues a leaderboard right after this row. */
+        public Cursor cursor() {
+            return new Cursor(score, id);
+        }
+    }
+
+    /** A finished game waiting to be stored, with its {@link com.hanoi.model.MoveLog} bytes if it was recorded. */
+    record ScoreSubmission(String name, Difficulty difficulty, int disks, long moves, double score, byte[] moveLog) {
+
+        public ScoreSubmission(String name, Difficulty difficulty, int disks, long moves, double score) {
+            this(name, difficulty, disks, moves, score, null);
+        }
+    }
+
+    /** Keyset position in a leaderboard: the score and id of the last row already shown. */
+    record Cursor(double score, long id) {}
+
+    /** One page of a leaderboard; {@code next} is null on the last page. */
+    record Page(List<ScoreRecord> scores, Cursor next) {
+
+        /** Wraps a page read with {@code pageSize}; a short page has no next one. */
+        static Page of(List<ScoreRecord> scores, int pageSize) {
+            Cursor next = scores.size() < pageSize ? null : scores.get(scores.size() - 1).cursor();
+            return new Page(scores, next);
+        }
+    }
+
+    /** Receives the scores of {@link #scanScores} one at a time. */
+    interface ScoreVisitor {
+        void accept(long id, double score);
+    }
+
+    /**
+     * Shared store, chosen by the {@code hanoi.store} system property: {@code journal} for
+     * {@link ScoreJournal#getInstance()}, anything else for {@link DatabaseManager#getInstance()}.
+     */
+    static ScoreStore getInstance() {
+        return "journal".equals(System.getProperty("hanoi.store"))
+                ? ScoreJournal.getInstance()
+                : DatabaseManager.getInstance();
+    }
+
+    default void addScore(String name, Difficulty difficulty, int disks, long moves, double score) {
+        addScore(new ScoreSubmission(name, difficulty, disks, moves, score));
+    }
+
+    default void addScore(ScoreSubmission submission) {
+        try {
+            addScores(List.of(submission));
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Stores many scores at once. Either every score is stored or, on error, none of them. */
+    void addScores(List<ScoreSubmission> submissions) throws SQLException, IOException;
+
+    /** Registers a callback that receives every batch of scores right after it is stored. */
+    void addListener(Consumer<List<ScoreRecord>> listener);
+
+    void removeListener(Consumer<List<ScoreRecord>> listener);
+
+    default List<ScoreRecord> getTopScores() {
+        return getTopScores(5);
+    }
+
+    List<ScoreRecord> getTopScores(int limit);
+
+    List<ScoreRecord> getTopScores(Difficulty difficulty, int limit);
+
+    /** First page of the overall leaderboard. Pass the returned cursor to {@link #getLeaderboardPage(Cursor, int)}. */
+    default Page getLeaderboardPage(int pageSize) {
+        return Page.of(getTopScores(pageSize), pageSize);
+    }
+
+    /** The {@code pageSize} scores ranked right below {@code after}. */
+    Page getLeaderboardPage(Cursor after, int pageSize);
+
+    default Page getLeaderboardPage(Difficulty difficulty, int pageSize) {
+        return Page.of(getTopScores(difficulty, pageSize), pageSize);
+    }
+
+    Page getLeaderboardPage(Difficulty difficulty, Cursor after, int pageSize);
+
+    /** A player's most recent games, newest first. */
+    default List<ScoreRecord> getPlayerHistory(String name, int limit) {
+        return getPlayerHistory(name, Long.MAX_VALUE, limit);
+    }
+
+    /** A player's games played before the one with id {@code beforeId}, newest first. */
+    List<ScoreRecord> getPlayerHistory(String name, long beforeId, int limit);
+
+    /** A player's best games, highest score first. */
+    List<ScoreRecord> getPlayerTopScores(String name, int limit);
+
+    /** Highest score a player has reached on any difficulty, or 0 if they have none. */
+    double getPlayerBestScore(String name);
+
+    /** Highest score for a difficulty, or 0 if nobody has finished it yet. */
+    double getBestScore(Difficulty difficulty);
+
+    /**
+     * Streams the id and score of every game on {@code difficulty}, in no particular order. Used to build
+     * {@link ScoreDistribution} without loading whole rows.
+     *
+     * @return the number of scores passed to {@code visitor}
+     */
+    long scanScores(Difficulty difficulty, ScoreVisitor visitor);
+
+    @Override
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,448 @@
+package com.hanoi.db;
+
+import com.hanoi.db.DatabaseManager.ScoreRow;
+import com.hanoi.model.Difficulty;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Bulk export and import of the scores table as CSV or newline-delimited JSON. Both directions stream: an
+ * export reads one cursor and writes through a 64 KiB buffer, an import parses one row at a time and stores
+ * them in chunked transactions, so tables of any size move in constant memory.
+ *
+ * <p>Every row carries the columns id, name, difficulty, disks, moves, score, date_played and move_log,
+ * the move log in Base64. CSV follows RFC 4180 with a header line; on import its columns may come in any
+ * order, and only name, difficulty, disks, moves and score are required. Imported rows get new ids.
+ *
+ * <p>Both formats read back exactly what they wrote. A game stored without a name has an empty CSV field
+ * and a JSON null, and an empty name reads back as none. JSON numbers cannot hold NaN or infinities, so
+ * such scores are written as the strings {@code "NaN"}, {@code "Infinity"} and {@code "-Infinity"}.
+ *
+ * <pre>
+ * java -p ... -m com.hanoi/com.hanoi.db.ScoreTransfer export csv scores.csv
+ * java -p ... -m com.hanoi/com.hanoi.db.ScoreTransfer import ndjson - jdbc:sqlite:copy.db &lt; scores.ndjson
+ * </pre>
+ */
+public final class ScoreTransfer {
+
+    public enum Format { CSV, NDJSON }
+
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final String[] COLUMNS = {"id", "name", "difficulty", "disks", "moves", "score", "date_played", "move_log"};
+
+    private ScoreTransfer() {}
+
+    public static long export(DatabaseManager dbManager, Format format, Path file) throws SQLException, IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return export(dbManager, format, out);
+        }
+    }
+
+    /** Writes every stored score to {@code out}, which is flushed but left open. */
+    public static long export(DatabaseManager dbManager, Format format, OutputStream out) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long exported;
+        if (format == Format.CSV) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+            exported = dbManager.exportScores(row -> writeCsv(row, writer));
+        } else {
+            exported = dbManager.exportScores(row -> writeJson(row, writer));
+        }
+        writer.flush();
+        return exported;
+    }
+
+    public static long importFrom(DatabaseManager dbManager, Format format, Path file) throws SQLException, IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return importFrom(dbManager, format, in);
+        }
+    }
+
+    /**
+     * Reads scores from {@code in} and stores them in transactions of {@link #DEFAULT_CHUNK_SIZE} rows.
+     *
+     * @throws IllegalArgumentException on a malformed row, naming its line; earlier chunks stay stored
+     */
+    public static long importFrom(DatabaseManager dbManager, Format format, InputStream in) throws SQLException, IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        RowReader rows = format == Format.CSV
+                ? new CsvRowReader(new BufferedReader(reader, BUFFER_SIZE))
+                : new JsonRowReader(new BufferedReader(reader, BUFFER_SIZE));
+        try {
+            return dbManager.importScores(rows, DEFAULT_CHUNK_SIZE);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 4 || !(args[0].equals("export") || args[0].equals("import"))) {
+            System.err.println("Usage: ScoreTransfer export|import csv|ndjson FILE|- [JDBC_URL]");
+            return;
+        }
+        Format format = Format.valueOf(args[1].toUpperCase(Locale.ROOT));
+        boolean stdio = args[2].equals("-");
+        try (DatabaseManager dbManager = DatabaseManager.open(args.length == 4 ? args[3] : DatabaseManager.DEFAULT_URL, 1)) {
+            long start = System.nanoTime();
+            long rows;
+            if (args[0].equals("export")) {
+                rows = stdio ? export(dbManager, format, System.out) : export(dbManager, format, Path.of(args[2]));
+            } else {
+                rows = stdio ? importFrom(dbManager, format, System.in) : importFrom(dbManager, format, Path.of(args[2]));
+            }
+            System.err.printf("%sed %,d rows in %.1f s%n", args[0].equals("export") ? "Export" : "Import",
+                    rows, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static void writeCsv(ScoreRow row, Writer out) throws IOException {
+        out.write(Long.toString(row.id()));
+        out.write(',');
+        writeCsvField(row.name(), out);
+        out.write(',');
+        writeCsvField(row.difficulty(), out);
+        out.write(',');
+        out.write(Integer.toString(row.disks()));
+        out.write(',');
+        out.write(Long.toString(row.moves()));
+        out.write(',');
+        out.write(Double.toString(row.score()));
+        out.write(',');
+        writeCsvField(row.date(), out);
+        out.write(',');
+        if (row.moveLog() != null) {
+            out.write(Base64.getEncoder().encodeToString(row.moveLog()));
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeCsvField(String value, Writer out) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static void writeJson(ScoreRow row, Writer out) throws IOException {
+        out.write("{\"id\":");
+        out.write(Long.toString(row.id()));
+        out.write(",\"name\":");
+        writeJsonString(row.name(), out);
+        out.write(",\"difficulty\":");
+        writeJsonString(row.difficulty(), out);
+        out.write(",\"disks\":");
+        out.write(Integer.toString(row.disks()));
+        out.write(",\"moves\":");
+        out.write(Long.toString(row.moves()));
+        out.write(",\"score\":");
+        if (Double.isFinite(row.score())) {
+            out.write(Double.toString(row.score()));
+        } else {
+            // JSON has no NaN or Infinity; Double.parseDouble reads the string back
+            writeJsonString(Double.toString(row.score()), out);
+        }
+        out.write(",\"date_played\":");
+        writeJsonString(row.date(), out);
+        out.write(",\"move_log\":");
+        writeJsonString(row.moveLog() == null ? null : Base64.getEncoder().encodeToString(row.moveLog()), out);
+        out.write("}\n");
+    }
+
+    private static void writeJsonString(String value, Writer out) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    /** Parsed rows, one at a time. Read errors surface as {@link UncheckedIOException}. */
+    private abstract static class RowReader implements Iterator<ScoreRow> {
+        protected long line;
+        private ScoreRow next;
+        private boolean done;
+
+        /** The next row, or null at the end of the input. */
+        protected abstract ScoreRow read() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public ScoreRow next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ScoreRow row = next;
+            next = null;
+            return row;
+        }
+
+        /** Builds a row from column values looked up by name; missing optional columns are null. */
+        protected ScoreRow toRow(Map<String, String> values) {
+            try {
+                String log = values.get("move_log");
+                if (!values.containsKey("name")) throw new IllegalArgumentException("Missing name");
+                return new ScoreRow(0,
+                        emptyToNull(values.get("name")),
+                        difficulty(required(values, "difficulty")),
+                        Integer.parseInt(required(values, "disks")),
+                        Long.parseLong(required(values, "moves")),
+                        Double.parseDouble(required(values, "score")),
+                        emptyToNull(values.get("date_played")),
+                        log == null || log.isEmpty() ? null : Base64.getDecoder().decode(log));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + line + ": " + e.getMessage(), e);
+            }
+        }
+
+        private static String required(Map<String, String> values, String column) {
+            String value = values.get(column);
+            if (value == null) throw new IllegalArgumentException("Missing " + column);
+            return value;
+        }
+
+        /** Only known difficulties get in, as the store's listeners look each one up. */
+        private static String difficulty(String value) {
+            for (Difficulty difficulty : DIFFICULTIES) {
+                if (difficulty.name().equals(value)) return value;
+            }
+            throw new IllegalArgumentException("Unknown difficulty: " + value);
+        }
+
+        private static String emptyToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+
+    /** RFC 4180 records; quoted fields may span lines. */
+    private static final class CsvRowReader extends RowReader {
+        private final BufferedReader in;
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> fields = new ArrayList<>();
+        private final Map<String, String> values = new HashMap<>();
+        private String[] header;
+
+        CsvRowReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        protected ScoreRow read() throws IOException {
+            if (header == null) {
+                if (!readRecord()) return null;
+                header = fields.toArray(new String[0]);
+            }
+            long start;
+            do {
+                start = line + 1;
+                if (!readRecord()) return null;
+            } while (fields.size() == 1 && fields.get(0).isEmpty()); // Blank line
+            if (fields.size() != header.length) {
+                throw new IllegalArgumentException("Line " + start + ": expected " + header.length + " fields, found " + fields.size());
+            }
+            values.clear();
+            for (int i = 0; i < header.length; i++) {
+                values.put(header[i], fields.get(i));
+            }
+            return toRow(values);
+        }
+
+        /** Reads one record into {@link #fields}; false at the end of the input. */
+        private boolean readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            int c = in.read();
+            if (c == -1) return false;
+            line++;
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) throw new IllegalArgumentException("Line " + line + ": unterminated quoted field");
+                    if (c == '"') {
+                        in.mark(1);
+                        if (in.read() == '"') {
+                            field.append('"');
+                        } else {
+                            in.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+            fields.add(field.toString());
+            return true;
+        }
+    }
+
+    /** One flat JSON object per line, with string, number or null values. */
+    private static final class JsonRowReader extends RowReader {
+        private final BufferedReader in;
+        private final StringBuilder token = new StringBuilder();
+        private final Map<String, String> values = new HashMap<>();
+        private String text;
+        private int pos;
+
+        JsonRowReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        protected ScoreRow read() throws IOException {
+            do {
+                text = in.readLine();
+                if (text == null) return null;
+                line++;
+            } while (text.isBlank());
+            pos = 0;
+            values.clear();
+            try {
+                expect('{');
+                if (peek() != '}') {
+                    do {
+                        String key = string();
+                        expect(':');
+                        values.put(key, value());
+                    } while (consume(','));
+                }
+                expect('}');
+                if (peek() != -1) throw new IllegalArgumentException("trailing characters");
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + line + ": " + e.getMessage() + " at column " + (pos + 1), e);
+            }
+            return toRow(values);
+        }
+
+        private String value() {
+            int c = peek();
+            if (c == '"') return string();
+            token.setLength(0);
+            while (pos < text.length() && ",}] \t".indexOf(text.charAt(pos)) < 0) {
+                token.append(text.charAt(pos++));
+            }
+            String literal = token.toString();
+            if (literal.isEmpty()) throw new IllegalArgumentException("expected a value");
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String string() {
+            expect('"');
+            token.setLength(0);
+            while (true) {
+                if (pos >= text.length()) throw new IllegalArgumentException("unterminated string");
+                char c = text.charAt(pos++);
+                if (c == '"') return token.toString();
+                if (c != '\\') {
+                    token.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) throw new IllegalArgumentException("unterminated string");
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> token.append('\n');
+                    case 'r' -> token.append('\r');
+                    case 't' -> token.append('\t');
+                    case 'b' -> token.append('\b');
+                    case 'f' -> token.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) throw new IllegalArgumentException("bad \\u escape");
+                        token.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                        pos += 4;
+                    }
+                    default -> token.append(escaped);
+                }
+            }
+        }
+
+        private int peek() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+            return pos < text.length() ? text.charAt(pos) : -1;
+        }
+
+        private boolean consume(char c) {
+            if (peek() != c) return false;
+            pos++;
+            return true;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) throw new IllegalArgumentException("expected '" + c + "'");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.hanoi.db;
+
+import com.hanoi.db.ScoreStore.ScoreSubmission;
+import com.hanoi.db.DatabaseManager.StoredScore;
+import com.hanoi.model.BitBoard;
+import com.hanoi.model.Difficulty;
+import com.hanoi.model.FrameStewartSolver;
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.MoveLog;
+import com.hanoi.model.MoveRule;
+import com.hanoi.model.Moves;
+import com.hanoi.util.Threads;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Checks that a score was really earned by replaying its move log: every move must be legal, the game must
+ * end solved exactly on the last move, and the claimed move count and score must match the replay.
+ *
+ * <p>Replays run on a {@link BitBoard} with the same rules as {@link GameLogic}. Each thread keeps its own
+ * boards and log buffers, so checking a game allocates nothing per move. {@link #verifyAll} streams the
+ * whole table in id order and spreads the replays over a thread per core.
+ */
+public final class ScoreVerifier {
+
+    public enum Verdict {
+        VALID,
+        // Stored before move logs existed, or the log was too long to keep
+        NOT_RECORDED,
+        // Unknown difficulty, or a disk count that does not fit it
+        INVALID_LEVEL,
+        CORRUPT_LOG,
+        ILLEGAL_MOVE,
+        NOT_SOLVED,
+        WRONG_MOVE_COUNT,
+        WRONG_SCORE
+    }
+
+    private static final int BATCH_SIZE = 2048;
+    private static final int MAX_REPORTED_IDS = 1000;
+    private static final double SCORE_TOLERANCE = 1e-9;
+
+    private final MoveRule rule;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public ScoreVerifier() {
+        this(MoveRule.STANDARD);
+    }
+
+    /** Verifier that also requires every move to be allowed by {@code rule}. */
+    public ScoreVerifier(MoveRule rule) {
+        this.rule = rule;
+    }
+
+    public Verdict verify(ScoreSubmission submission) {
+        Scratch buffers = scratch.get();
+        byte[] data = submission.moveLog();
+        if (data == null) return Verdict.NOT_RECORDED;
+
+        Difficulty difficulty = submission.difficulty();
+        int disks = submission.disks();
+        if (difficulty == null || disks < Difficulty.MIN_DISKS || disks > Difficulty.MAX_DISKS
+                || (!difficulty.isCustom() && disks != difficulty.getDisks())) {
+            return Verdict.INVALID_LEVEL;
+        }
+
+        int pegCount;
+        MoveLog log;
+        try {
+            pegCount = MoveLog.pegCount(data);
+            log = buffers.log(pegCount);
+            log.readFrom(data);
+        } catch (IllegalArgumentException e) {
+            return Verdict.CORRUPT_LOG;
+        }
+        BitBoard board = buffers.board(pegCount, disks);
+        board.reset();
+
+        int size = log.size();
+        for (int i = 0; i < size; i++) {
+            // The game ends as soon as it is solved, so no move may follow
+            if (board.isSolved()) return Verdict.ILLEGAL_MOVE;
+            int move;
+            try {
+                move = log.get(i);
+            } catch (IllegalArgumentException e) {
+                return Verdict.CORRUPT_LOG;
+            }
+            int from = Moves.from(move);
+            int to = Moves.to(move);
+            if (!rule.allows(from, to) || board.move(from, to) == 0) return Verdict.ILLEGAL_MOVE;
+        }
+        if (!board.isSolved()) return Verdict.NOT_SOLVED;
+        if (submission.moves() != size) return Verdict.WRONG_MOVE_COUNT;
+
+        double expected = GameLogic.calculateScore(disks, pegCount, size);
+        if (Math.abs(expected - submission.score()) > SCORE_TOLERANCE * Math.max(1.0, expected)) {
+            return Verdict.WRONG_SCORE;
+        }
+        return Verdict.VALID;
+    }
+
+    /** Re-checks every stored score using one thread per core. */
+    public Report verifyAll(DatabaseManager dbManager) throws SQLException, InterruptedException {
+        return verifyAll(dbManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Re-checks every stored score. The calling thread pages through the table by id while {@code threads}
+     * workers replay the pages; at most two pages per worker are held in memory.
+     */
+    public Report verifyAll(DatabaseManager dbManager, int threads) throws SQLException, InterruptedException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        int maxInFlight = threads * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Report report = new Report();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, Threads.daemonFactory("score-verifier"));
+        try {
+            long afterId = Long.MIN_VALUE;
+            while (true) {
+                List<StoredScore> page = dbManager.getStoredScores(afterId, BATCH_SIZE);
+                if (page.isEmpty()) break;
+                afterId = page.get(page.size() - 1).id();
+
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        report.add(verifyPage(page));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                if (page.size() < BATCH_SIZE) break;
+            }
+            // Every worker has finished once all permits are back
+            inFlight.acquire(maxInFlight);
+        } finally {
+            workers.shutdown();
+        }
+        return report;
+    }
+
+    private Report verifyPage(List<StoredScore> page) {
+        Report tally = new Report();
+        for (StoredScore stored : page) {
+            tally.record(stored.id(), verify(stored.submission()));
+        }
+        return tally;
+    }
+
+    /** Outcome of a batch run: how many rows got each verdict, and the ids of some rejected rows. */
+    public static final class Report {
+        private final long[] counts = new long[Verdict.values().length];
+        private final List<Long> rejectedIds = new ArrayList<>();
+
+        public synchronized long getChecked() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public synchronized long count(Verdict verdict) {
+            return counts[verdict.ordinal()];
+        }
+
+        /** Up to 1000 ids of rows that failed a check, in ascending order. Unrecorded rows are not listed. */
+        public synchronized List<Long> getRejectedIds() {
+            List<Long> ids = new ArrayList<>(rejectedIds);
+            Collections.sort(ids);
+            return ids;
+        }
+
+        private void record(long id, Verdict verdict) {
+            counts[verdict.ordinal()]++;
+            if (verdict != Verdict.VALID && verdict != Verdict.NOT_RECORDED && rejectedIds.size() < MAX_REPORTED_IDS) {
+                rejectedIds.add(id);
+            }
+        }
+
+        private synchronized void add(Report other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            for (Long id : other.rejectedIds) {
+                if (rejectedIds.size() >= MAX_REPORTED_IDS) break;
+                rejectedIds.add(id);
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            StringBuilder sb = new StringBuilder("Checked ").append(getChecked());
+            for (Verdict verdict : Verdict.values()) {
+                sb.append(", ").append(verdict).append('=').append(counts[verdict.ordinal()]);
+            }
+            return sb.toString();
+        }
+    }
+
+    /** Per-thread replay buffers, created on first use for each peg and disk count. */
+    private static final class Scratch {
+        private final MoveLog[] logs = new MoveLog[FrameStewartSolver.MAX_PEGS + 1];
+        private final BitBoard[] boards = new BitBoard[(FrameStewartSolver.MAX_PEGS + 1) * (BitBoard.MAX_DISKS + 1)];
+
+        MoveLog log(int pegCount) {
+            if (pegCount >= logs.length) {
+                throw new IllegalArgumentException("Unsupported peg count: " + pegCount);
+            }
+            if (logs[pegCount] == null) {
+                logs[pegCount] = new MoveLog(pegCount);
+            }
+            return logs[pegCount];
+        }
+
+        BitBoard board(int pegCount, int disks) {
+            int slot = pegCount * (BitBoard.MAX_DISKS + 1) + disks;
+            if (boards[slot] == null) {
+                boards[slot] = new BitBoard(pegCount, disks);
+            }
+            return boards[slot];
+        }
+    }
+}
\ No newline at end of file
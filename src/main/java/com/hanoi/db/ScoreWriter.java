@@ -0,0 +1,162 @@
+package com.hanoi.db;
+
+import com.hanoi.db.ScoreStore.ScoreSubmission;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for finished games. Callers hand scores over without touching the database; a single
+ * background thread stores them in batched transactions once {@code maxBatch} scores are waiting or
+ * {@code flushIntervalMillis} has passed since the oldest one arrived.
+ *
+ * <p>The queue is bounded: {@link #offer} fails fast when it is full, while {@link #submit} blocks until
+ * there is room, which pushes back on producers that outrun the disk.
+ */
+public final class ScoreWriter implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final int DEFAULT_MAX_BATCH = 500;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+
+    private static ScoreWriter instance;
+
+    private final ScoreStore store;
+    private final BlockingQueue<ScoreSubmission> queue;
+    private final int maxBatch;
+    private final long flushIntervalNanos;
+    private final Thread worker;
+
+    private final Object progress = new Object();
+    private long accepted;
+    private long completed;
+    // Guarded by progress for writes so nothing is queued after close() starts draining
+    private volatile boolean running = true;
+
+    public ScoreWriter(ScoreStore store, int capacity, int maxBatch, long flushIntervalMillis) {
+        if (capacity < 1 || maxBatch < 1 || flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("Capacity, batch size and flush interval must be positive");
+        }
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.worker = new Thread(this::run, "score-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Shared writer on top of {@link ScoreStore#getInstance()}; flushed by a shutdown hook. */
+    public static synchronized ScoreWriter getInstance() {
+        if (instance == null) {
+            instance = new ScoreWriter(ScoreStore.getInstance(),
+                    DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_FLUSH_INTERVAL_MILLIS);
+            ScoreWriter writer = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "score-writer-shutdown"));
+        }
+        return instance;
+    }
+
+    /** Queues a score without blocking. Returns false if the writer is closed or the queue is full. */
+    public boolean offer(ScoreSubmission submission) {
+        synchronized (progress) {
+            if (!running || !worker.isAlive() || !queue.offer(submission)) return false;
+            accepted++;
+        }
+        return true;
+    }
+
+    /**
+     * Queues a score, waiting for room if the queue is full.
+     *
+     * @throws IllegalStateException if the writer is closed or its thread has died
+     */
+    public void submit(ScoreSubmission submission) throws InterruptedException {
+        synchronized (progress) {
+            while (true) {
+                if (!running) throw new IllegalStateException("Score writer is closed");
+                // Nobody would ever make room
+                if (!worker.isAlive()) throw new IllegalStateException("Score writer thread has stopped");
+                if (queue.offer(submission)) {
+                    accepted++;
+                    return;
+                }
+                // Woken up whenever a batch has been written
+                progress.wait(flushIntervalNanos / 1_000_000 + 1);
+            }
+        }
+    }
+
+    /** Blocks until every score accepted before this call has been written (or dropped after an error). */
+    public void flush() throws InterruptedException {
+        synchronized (progress) {
+            long target = accepted;
+            while (completed < target && worker.isAlive()) {
+                progress.wait(100);
+            }
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /** Stops accepting scores, writes everything still queued and stops the worker thread. */
+    @Override
+    public void close() {
+        synchronized (progress) {
+            running = false;
+            progress.notifyAll();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<ScoreSubmission> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                ScoreSubmission first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < maxBatch && running) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) break;
+                    ScoreSubmission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                queue.drainTo(batch, maxBatch - batch.size());
+                write(batch);
+            } catch (InterruptedException e) {
+                // Keep draining; close() decides when to stop
+            }
+        }
+    }
+
+    private void write(List<ScoreSubmission> batch) {
+        try {
+            store.addScores(batch);
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Includes a failing listener; this thread is the only one writing, so it must survive either way
+            e.printStackTrace();
+        } finally {
+            synchronized (progress) {
+                completed += batch.size();
+                progress.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.hanoi.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic count, cheap to bump from many threads at once. */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter() {}
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.hanoi.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** One score database call, including the wait for a pooled connection. */
+@Name("com.hanoi.Database")
+@Label("Database Call")
+@Category({"Tower of Hanoi", "Database"})
+@Description("A query or write against the score database")
+public final class DatabaseEvent extends TimedEvent {
+
+    /** Kinds of call, each with its {@code db.*} timer looked up once. */
+    public enum Operation {
+        INSERT("insert"),
+        IMPORT("import"),
+        EXPORT("export"),
+        TOP_SCORES("topScores"),
+        LEADERBOARD_PAGE("leaderboardPage"),
+        PLAYER_HISTORY("playerHistory"),
+        PLAYER_TOP_SCORES("playerTopScores"),
+        PLAYER_BEST_SCORE("playerBestScore"),
+        BEST_SCORE("bestScore"),
+        MOVE_LOG("moveLog"),
+        STORED_SCORES("storedScores"),
+        SCAN_SCORES("scanScores");
+
+        private final String label;
+        private final Timer timer;
+
+        Operation(String label) {
+            this.label = label;
+            this.timer = Metrics.timer("db." + label);
+        }
+    }
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Rows")
+    public int rows;
+
+    private final transient Timer timer;
+
+    public DatabaseEvent(Operation operation) {
+        this.operation = operation.label;
+        this.timer = operation.timer;
+    }
+
+    @Override
+    protected Timer timer() {
+        return timer;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.hanoi.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Handling of a disk dropped by the player, from the drop gesture to the board update. */
+@Name("com.hanoi.Drop")
+@Label("Disk Drop")
+@Category({"Tower of Hanoi", "UI"})
+@Description("A drag-and-drop move by the player")
+public final class DropEvent extends TimedEvent {
+
+    private static final Timer TIMER = Metrics.timer("ui.drop");
+
+    @Label("From Peg")
+    public int from;
+
+    @Label("To Peg")
+    public int to;
+
+    @Label("Accepted")
+    public boolean accepted;
+
+    public DropEvent(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected Timer timer() {
+        return TIMER;
+    }
+}
\ No newline at end of file
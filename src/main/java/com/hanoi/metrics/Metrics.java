@@ -0,0 +1,67 @@
+package com.hanoi.metrics;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of named counters and timers. Names are dotted, e.g. {@code db.addScores}.
+ * Callers keep the returned instances in static fields, so the map is only consulted once per name.
+ */
+public final class Metrics {
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, n -> new Timer());
+    }
+
+    /** Current values as JSON; timer latencies are in microseconds. */
+    public static String snapshotJson() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\n  \"timestamp\": \"").append(Instant.now()).append("\",\n  \"counters\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            sb.append(separator).append("    \"").append(entry.getKey()).append("\": ").append(entry.getValue().get());
+            separator = ",\n";
+        }
+        sb.append("\n  },\n  \"timers\": {");
+        separator = "\n";
+        for (Map.Entry<String, Timer> entry : new TreeMap<>(TIMERS).entrySet()) {
+            LatencyHistogram h = entry.getValue().histogram();
+            sb.append(separator).append("    \"").append(entry.getKey()).append("\": {")
+                    .append(String.format(Locale.ROOT,
+                            "\"count\": %d, \"meanMicros\": %.1f, \"p50Micros\": %.1f, \"p90Micros\": %.1f, \"p99Micros\": %.1f, \"maxMicros\": %.1f}",
+                            h.getCount(), h.getMean() / 1e3, h.percentile(0.50) / 1e3, h.percentile(0.90) / 1e3,
+                            h.percentile(0.99) / 1e3, h.getMax() / 1e3));
+            separator = ",\n";
+        }
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    /** Current values as aligned text, one metric per line; timer latencies are in microseconds. */
+    public static String snapshotText() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("# ").append(Instant.now()).append('\n');
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            sb.append(String.format(Locale.ROOT, "%-28s %,d%n", entry.getKey(), entry.getValue().get()));
+        }
+        for (Map.Entry<String, Timer> entry : new TreeMap<>(TIMERS).entrySet()) {
+            LatencyHistogram h = entry.getValue().histogram();
+            sb.append(String.format(Locale.ROOT, "%-28s count=%d mean=%.1f p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    entry.getKey(), h.getCount(), h.getMean() / 1e3, h.percentile(0.50) / 1e3,
+                    h.percentile(0.90) / 1e3, h.percentile(0.99) / 1e3, h.getMax() / 1e3));
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.hanoi.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a {@link Metrics} snapshot to a file at a fixed interval, replacing the previous one. A file
+ * ending in {@code .json} gets JSON, anything else the text form. Each snapshot is written to a temporary
+ * file first and moved into place, so readers never see a half-written file.
+ */
+public final class MetricsReporter implements AutoCloseable {
+
+    private final Path file;
+    private final boolean json;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(Path file, long intervalSeconds) {
+        if (intervalSeconds < 1) {
+            throw new IllegalArgumentException("Interval must be at least one second: " + intervalSeconds);
+        }
+        this.file = file;
+        this.json = file.getFileName().toString().endsWith(".json");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts a reporter if the {@code hanoi.metrics.file} system property names a file; the interval comes
+     * from {@code hanoi.metrics.intervalSeconds} (default 10). Returns null when reporting is off.
+     */
+    public static MetricsReporter fromSystemProperties() {
+        String file = System.getProperty("hanoi.metrics.file");
+        if (file == null || file.isBlank()) return null;
+        return new MetricsReporter(Path.of(file), Long.getLong("hanoi.metrics.intervalSeconds", 10));
+    }
+
+    public void write() {
+        String snapshot = json ? Metrics.snapshotJson() : Metrics.snapshotText();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, snapshot, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Stops the schedule and writes one last snapshot. */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write();
+    }
+}
\ No newline at end of file
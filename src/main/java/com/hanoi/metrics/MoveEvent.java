@@ -0,0 +1,36 @@
+package com.hanoi.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One {@code GameLogic.move}. Moves take nanoseconds, so they are timed only by JFR and the metrics
+ * registry just counts them. Callers check {@link #isRecorded()} before creating one, so moves stay
+ * allocation-free while no recording has the event enabled.
+ */
+@Name("com.hanoi.Move")
+@Label("Move")
+@Category({"Tower of Hanoi", "Game"})
+@Description("A disk moved from one peg to another")
+public final class MoveEvent extends Event {
+
+    // Event.isEnabled() is per class once JFR has instrumented it, so one instance answers for all
+    private static final MoveEvent PROBE = new MoveEvent();
+
+    @Label("Disk")
+    public int disk;
+
+    @Label("From Peg")
+    public int from;
+
+    @Label("To Peg")
+    public int to;
+
+    /** Whether a running recording wants move events. */
+    public static boolean isRecorded() {
+        return PROBE.isEnabled();
+    }
+}
\ No newline at end of file
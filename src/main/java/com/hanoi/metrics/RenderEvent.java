@@ -0,0 +1,43 @@
+package com.hanoi.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Board drawing work done on the FX thread, either for one move or a full redraw. */
+@Name("com.hanoi.Render")
+@Label("Board Render")
+@Category({"Tower of Hanoi", "UI"})
+@Description("Scene graph or canvas updates for the game board")
+public final class RenderEvent extends TimedEvent {
+
+    /** One move or a full redraw, each with its {@code ui.render.*} timer looked up once. */
+    public enum Kind {
+        MOVE("move"),
+        SYNC("sync");
+
+        private final String label;
+        private final Timer timer;
+
+        Kind(String label) {
+            this.label = label;
+            this.timer = Metrics.timer("ui.render." + label);
+        }
+    }
+
+    @Label("Kind")
+    public String kind;
+
+    private final transient Timer timer;
+
+    public RenderEvent(Kind kind) {
+        this.kind = kind.label;
+        this.timer = kind.timer;
+    }
+
+    @Override
+    protected Timer timer() {
+        return timer;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.hanoi.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Building and showing a screen. */
+@Name("com.hanoi.SceneSwitch")
+@Label("Scene Switch")
+@Category({"Tower of Hanoi", "UI"})
+@Description("Switching the window to another screen")
+public final class SceneEvent extends TimedEvent {
+
+    /** Screens of the game, each with its {@code ui.scene.*} timer looked up once. */
+    public enum Scene {
+        WELCOME("welcome"),
+        GAME("game");
+
+        private final String label;
+        private final Timer timer;
+
+        Scene(String label) {
+            this.label = label;
+            this.timer = Metrics.timer("ui.scene." + label);
+        }
+    }
+
+    @Label("Scene")
+    public String scene;
+
+    private final transient Timer timer;
+
+    public SceneEvent(Scene scene) {
+        this.scene = scene.label;
+        this.timer = scene.timer;
+    }
+
+    @Override
+    protected Timer timer() {
+        return timer;
+    }
+}
\ No newline at end of file
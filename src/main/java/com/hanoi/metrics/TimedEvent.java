@@ -0,0 +1,32 @@
+package com.hanoi.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+
+/**
+ * Flight Recorder event that also feeds a {@link Timer}, so one measurement shows up both in JFR
+ * recordings and in the metrics snapshot. The event starts timing when it is created and stops in
+ * {@link #finish()}.
+ */
+@Category("Tower of Hanoi")
+public abstract class TimedEvent extends Event {
+
+    private final transient long startNanos;
+
+    protected TimedEvent() {
+        startNanos = System.nanoTime();
+        begin();
+    }
+
+    /** Timer in the {@link Metrics} registry that receives this event's duration. */
+    protected abstract Timer timer();
+
+    /** Stops timing, records the duration and commits the event if a recording wants it. */
+    public void finish() {
+        timer().recordSince(startNanos);
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.hanoi.metrics;
+
+/** Latency distribution of one operation, in nanoseconds. */
+public final class Timer {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    Timer() {}
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    /** Records the time elapsed since {@code startNanos}, a {@link System#nanoTime()} reading. */
+    public void recordSince(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+}
\ No newline at end of file
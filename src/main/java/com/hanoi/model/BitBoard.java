@@ -0,0 +1,128 @@
+package com.hanoi.model;
+
+/**
+ * Primitive peg storage used by {@link GameLogic}.
+ * Each peg is a single {@code long} whose bit {@code d} is set when disk {@code d + 1} sits on it,
+ * so the top disk of a peg is simply its lowest set bit. Supports up to 64 disks and never allocates
+ * after construction.
+ */
+public final class BitBoard {
+
+    public static final int MAX_DISKS = 64;
+
+    private final long[] pegs;
+    private final int totalDisks;
+
+    public BitBoard(int pegCount, int totalDisks) {
+        if (pegCount < 3) {
+            throw new IllegalArgumentException("At least 3 pegs are required: " + pegCount);
+        }
+        if (totalDisks < 1 || totalDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("Disk count must be between 1 and " + MAX_DISKS + ": " + totalDisks);
+        }
+        this.pegs = new long[pegCount];
+        this.totalDisks = totalDisks;
+        reset();
+    }
+
+    /** Puts every disk back on peg 0. */
+    public void reset() {
+        clear();
+        pegs[0] = fullMask();
+    }
+
+    /** Removes all disks from all pegs. */
+    public void clear() {
+        for (int i = 0; i < pegs.length; i++) {
+            pegs[i] = 0L;
+        }
+    }
+
+    public boolean canMove(int from, int to) {
+        long source = pegs[from];
+        if (source == 0L) return false;
+        long target = pegs[to];
+        if (target == 0L) return true;
+
+        // Cannot place larger disk on smaller disk
+        return Long.numberOfTrailingZeros(source) < Long.numberOfTrailingZeros(target);
+    }
+
+    /**
+     * Moves the top disk of {@code from} onto {@code to} if the move is legal.
+     * @return the size of the moved disk (1 is smallest), or 0 if the move was rejected
+     */
+    public int move(int from, int to) {
+        if (!canMove(from, to)) return 0;
+        long top = pegs[from] & -pegs[from];
+        pegs[from] ^= top;
+        pegs[to] |= top;
+        return Long.numberOfTrailingZeros(top) + 1;
+    }
+
+    public boolean isSolved() {
+        return pegs[pegs.length - 1] == fullMask();
+    }
+
+    /** Bitmask of the disks on a peg; bit {@code d} stands for disk {@code d + 1}. */
+    public long mask(int peg) {
+        return pegs[peg];
+    }
+
+    public int size(int peg) {
+        return Long.bitCount(pegs[peg]);
+    }
+
+    /** Size of the top disk on a peg, or 0 if the peg is empty. */
+    public int top(int peg) {
+        long mask = pegs[peg];
+        return mask == 0L ? 0 : Long.numberOfTrailingZeros(mask) + 1;
+    }
+
+    /** Peg currently holding the given disk (1 is smallest). */
+    public int pegOf(int disk) {
+        long bit = 1L << (disk - 1);
+        for (int i = 0; i < pegs.length; i++) {
+            if ((pegs[i] & bit) != 0L) return i;
+        }
+        throw new IllegalStateException("Disk " + disk + " is not on the board");
+    }
+
+    /** Places a disk on a peg without checking the rules. Used to load arbitrary positions. */
+    public void place(int disk, int peg) {
+        long bit = 1L << (disk - 1);
+        for (int i = 0; i < pegs.length; i++) {
+            pegs[i] &= ~bit;
+        }
+        pegs[peg] |= bit;
+    }
+
+    public void copyFrom(BitBoard other) {
+        if (other.pegs.length != pegs.length || other.totalDisks != totalDisks) {
+            throw new IllegalArgumentException("Board shapes differ");
+        }
+        System.arraycopy(other.pegs, 0, pegs, 0, pegs.length);
+    }
+
+    /** Writes the peg masks to {@code masks} starting at {@code offset}; see {@link #copyFrom(long[], int)}. */
+    public void copyTo(long[] masks, int offset) {
+        System.arraycopy(pegs, 0, masks, offset, pegs.length);
+    }
+
+    /** Loads peg masks saved by {@link #copyTo}. They are trusted to describe a valid position. */
+    public void copyFrom(long[] masks, int offset) {
+        System.arraycopy(masks, offset, pegs, 0, pegs.length);
+    }
+
+    public int getPegCount() {
+        return pegs.length;
+    }
+
+    public int getTotalDisks() {
+        return totalDisks;
+    }
+
+    private long fullMask() {
+        return totalDisks == MAX_DISKS ? -1L : (1L << totalDisks) - 1;
+    }
+}
\ No newline at end of file
@@ -3,7 +3,12 @@ package com.hanoi.model;
 public enum Difficulty {
     EASY(3),
     MEDIUM(4),
-    HARD(10);
+    HARD(10),
+    // Player picks the disk count; this is only the default.
+    CUSTOM(12);
+
+    public static final int MIN_DISKS = 1;
+    public static final int MAX_DISKS = BitBoard.MAX_DISKS;
 
     private final int disks;
 
@@ -14,4 +19,16 @@ public enum Difficulty {
     public int getDisks() {
         return disks;
     }
+
+    public boolean isCustom() {
+        return this == CUSTOM;
+    }
+
+    /** The built-in level played with {@code disks} disks, or CUSTOM if there is none. */
+    public static Difficulty forDisks(int disks) {
+        for (Difficulty difficulty : values()) {
+            if (!difficulty.isCustom() && difficulty.disks == disks) return difficulty;
+        }
+        return CUSTOM;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.hanoi.model;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Frame–Stewart solver for K pegs. To move n disks with k pegs, park the top t disks on a spare peg
+ * using all k pegs, move the remaining n - t with the other k - 1 pegs, then bring the t disks back:
+ * {@code FS(n, k) = min_t 2 * FS(t, k) + FS(n - t, k - 1)}, with {@code FS(n, 3) = 2^n - 1}.
+ *
+ * <p>Move counts and best split points are memoized in flat primitive arrays. Every cell on an
+ * anti-diagonal {@code n + k = const} only depends on earlier diagonals, so large tables fill one diagonal
+ * at a time with the cells of a diagonal computed in parallel on the common fork/join pool.
+ * Counts are unsigned and saturate at 2^64 - 1.
+ */
+public final class FrameStewartSolver {
+
+    /** Move codes keep the target peg in 4 bits. */
+    public static final int MAX_PEGS = 16;
+
+    private static final long SATURATED = -1L;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int MIN_CELLS_PER_TASK = 2;
+
+    private static volatile FrameStewartSolver shared;
+
+    private final int maxDisks;
+    private final int maxPegs;
+    private final int rowLength;
+    private final long[] cost;
+    private final int[] split;
+
+    public FrameStewartSolver(int maxDisks, int maxPegs) {
+        if (maxDisks < 1) {
+            throw new IllegalArgumentException("Disk count must be positive: " + maxDisks);
+        }
+        if (maxPegs < 3 || maxPegs > MAX_PEGS) {
+            throw new IllegalArgumentException("Peg count must be between 3 and " + MAX_PEGS + ": " + maxPegs);
+        }
+        this.maxDisks = maxDisks;
+        this.maxPegs = maxPegs;
+        this.rowLength = maxDisks + 1;
+        int rows = maxPegs - 2;
+        this.cost = new long[rows * rowLength];
+        this.split = new int[rows * rowLength];
+        fill();
+    }
+
+    /** Table covering every board {@link BitBoard} can hold. */
+    public static FrameStewartSolver getInstance() {
+        FrameStewartSolver solver = shared;
+        if (solver == null) {
+            synchronized (FrameStewartSolver.class) {
+                solver = shared;
+                if (solver == null) {
+                    solver = new FrameStewartSolver(BitBoard.MAX_DISKS, MAX_PEGS);
+                    shared = solver;
+                }
+            }
+        }
+        return solver;
+    }
+
+    /** Minimum number of moves to transfer {@code disks} disks using {@code pegs} pegs, unsigned. */
+    public long minMoves(int disks, int pegs) {
+        return cost[index(disks, pegs)];
+    }
+
+    /** Number of disks parked on a spare peg in the first phase of an optimal transfer. */
+    public int splitPoint(int disks, int pegs) {
+        return split[index(disks, pegs)];
+    }
+
+    /** Lazily generated moves taking every disk from the first peg to the last one. */
+    public PrimitiveIterator.OfInt moves(int disks, int pegs) {
+        if (disks > BitBoard.MAX_DISKS) {
+            throw new IllegalArgumentException("Move generation supports at most " + BitBoard.MAX_DISKS + " disks");
+        }
+        index(disks, pegs);
+        return new MoveIterator(disks, pegs);
+    }
+
+    public IntStream stream(int disks, int pegs) {
+        long count = minMoves(disks, pegs);
+        PrimitiveIterator.OfInt moves = moves(disks, pegs);
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        Spliterator.OfInt spliterator = count < 0
+                ? Spliterators.spliteratorUnknownSize(moves, characteristics)
+                : Spliterators.spliterator(moves, count, characteristics);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    public int getMaxDisks() {
+        return maxDisks;
+    }
+
+    public int getMaxPegs() {
+        return maxPegs;
+    }
+
+    private int index(int disks, int pegs) {
+        if (disks < 0 || disks > maxDisks || pegs < 3 || pegs > maxPegs) {
+            throw new IllegalArgumentException("No table entry for " + disks + " disks on " + pegs + " pegs");
+        }
+        return (pegs - 3) * rowLength + disks;
+    }
+
+    private void fill() {
+        // Three pegs has a closed form; its only split is "all but the largest disk".
+        for (int n = 0; n <= maxDisks; n++) {
+            cost[n] = n >= 64 ? SATURATED : (1L << n) - 1;
+            split[n] = Math.max(n - 1, 0);
+        }
+        int rows = maxPegs - 2;
+        for (int row = 1; row < rows; row++) {
+            cost[row * rowLength] = 0L;
+            if (maxDisks >= 1) cost[row * rowLength + 1] = 1L;
+        }
+        if (rows == 1) return;
+
+        boolean parallel = (long) rowLength * rows >= PARALLEL_THRESHOLD;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // Diagonal d holds cells with n + row == d; n starts at 2 and row at 1.
+        for (int d = 3; d <= maxDisks + rows - 1; d++) {
+            int firstRow = Math.max(1, d - maxDisks);
+            int lastRow = Math.min(rows - 1, d - 2);
+            if (firstRow > lastRow) continue;
+            if (parallel && lastRow - firstRow + 1 >= 2 * MIN_CELLS_PER_TASK) {
+                pool.invoke(new DiagonalTask(d, firstRow, lastRow));
+            } else {
+                for (int row = firstRow; row <= lastRow; row++) {
+                    computeCell(d - row, row);
+                }
+            }
+        }
+    }
+
+    private void computeCell(int n, int row) {
+        int base = row * rowLength;
+        int below = (row - 1) * rowLength;
+        long best = SATURATED;
+        int bestSplit = n - 1;
+        for (int t = 1; t < n; t++) {
+            long candidate = add(twice(cost[base + t]), cost[below + n - t]);
+            if (Long.compareUnsigned(candidate, best) < 0) {
+                best = candidate;
+                bestSplit = t;
+            }
+        }
+        cost[base + n] = best;
+        split[base + n] = bestSplit;
+    }
+
+    private static long twice(long value) {
+        return value < 0 ? SATURATED : value << 1;
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return Long.compareUnsigned(sum, a) < 0 ? SATURATED : sum;
+    }
+
+    private final class DiagonalTask extends RecursiveAction {
+        private final int diagonal;
+        private final int firstRow;
+        private final int lastRow;
+
+        DiagonalTask(int diagonal, int firstRow, int lastRow) {
+            this.diagonal = diagonal;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastRow - firstRow + 1 <= MIN_CELLS_PER_TASK) {
+                for (int row = firstRow; row <= lastRow; row++) {
+                    computeCell(diagonal - row, row);
+                }
+                return;
+            }
+            int mid = (firstRow + lastRow) >>> 1;
+            invokeAll(new DiagonalTask(diagonal, firstRow, mid), new DiagonalTask(diagonal, mid + 1, lastRow));
+        }
+    }
+
+    /**
+     * Walks the Frame–Stewart recursion with an explicit stack of primitive frames. Each frame shrinks the
+     * disk count, so the stack never grows past {@code disks + 1} entries.
+     */
+    private final class MoveIterator implements PrimitiveIterator.OfInt {
+        private final int[] count;
+        private final int[] source;
+        private final int[] target;
+        private final int[] available;
+        private final int[] spare;
+        private final byte[] phase;
+        private int depth;
+        private int pending = Moves.NONE;
+
+        MoveIterator(int disks, int pegs) {
+            int capacity = disks + 2;
+            count = new int[capacity];
+            source = new int[capacity];
+            target = new int[capacity];
+            available = new int[capacity];
+            spare = new int[capacity];
+            phase = new byte[capacity];
+            depth = 0;
+            push(disks, 0, pegs - 1, (1 << pegs) - 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == Moves.NONE) pending = advance();
+            return pending != Moves.NONE;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int move = pending;
+            pending = Moves.NONE;
+            return move;
+        }
+
+        private void push(int n, int from, int to, int pegs) {
+            count[depth] = n;
+            source[depth] = from;
+            target[depth] = to;
+            available[depth] = pegs;
+            phase[depth] = 0;
+            depth++;
+        }
+
+        private int advance() {
+            while (depth > 0) {
+                int top = depth - 1;
+                int n = count[top];
+                if (n == 0) {
+                    depth--;
+                    continue;
+                }
+                if (n == 1) {
+                    depth--;
+                    return Moves.encode(source[top], target[top]);
+                }
+                int t = splitPoint(n, Integer.bitCount(available[top]));
+                switch (phase[top]) {
+                    case 0 -> {
+                        int others = available[top] & ~(1 << source[top]) & ~(1 << target[top]);
+                        spare[top] = Integer.numberOfTrailingZeros(others);
+                        phase[top] = 1;
+                        push(t, source[top], spare[top], available[top]);
+                    }
+                    case 1 -> {
+                        phase[top] = 2;
+                        push(n - t, source[top], target[top], available[top] & ~(1 << spare[top]));
+                    }
+                    case 2 -> {
+                        phase[top] = 3;
+                        push(t, spare[top], target[top], available[top]);
+                    }
+                    default -> depth--;
+                }
+            }
+            return Moves.NONE;
+        }
+    }
+}
\ No newline at end of file
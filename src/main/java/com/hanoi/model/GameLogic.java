@@ -1,70 +1,314 @@
 package com.hanoi.model;
 
-import java.util.Stack;
+import com.hanoi.metrics.Counter;
+import com.hanoi.metrics.Metrics;
+import com.hanoi.metrics.MoveEvent;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class GameLogic {
-    private final Stack<Integer>[] towers;
+    private static final Counter MOVES = Metrics.counter("game.moves");
+
+    private final BitBoard board;
+    private final TowerView[] towers;
     private final int totalDisks;
-    private int moves;
+    private final List<Listener> listeners = new ArrayList<>();
+    private final MoveLog log;
+    private final MoveHistory history;
+    private long moves;
+
+    /** Told about every change to the board, so views can update only what moved. */
+    public interface Listener {
+        void diskMoved(int disk, int fromIndex, int toIndex);
+
+        /** The whole position changed, after a reset or a jump through the history. */
+        void boardChanged();
+    }
 
-    @SuppressWarnings("unchecked")
     public GameLogic(int totalDisks) {
+        this(totalDisks, 3);
+    }
+
+    public GameLogic(int totalDisks, int pegCount) {
+        this(totalDisks, pegCount, MoveHistory.DEFAULT_CAPACITY);
+    }
+
+    /** Game that can undo up to {@code historyCapacity} moves, a power of two. */
+    public GameLogic(int totalDisks, int pegCount, int historyCapacity) {
+        if (pegCount > FrameStewartSolver.MAX_PEGS) {
+            throw new IllegalArgumentException("At most " + FrameStewartSolver.MAX_PEGS + " pegs are supported: " + pegCount);
+        }
         this.totalDisks = totalDisks;
-        this.towers = new Stack[3];
-        for (int i = 0; i < 3; i++) {
-            this.towers[i] = new Stack<>();
+        this.board = new BitBoard(pegCount, totalDisks);
+        this.log = new MoveLog(pegCount);
+        this.history = new MoveHistory(pegCount, historyCapacity);
+        this.towers = new TowerView[pegCount];
+        for (int i = 0; i < pegCount; i++) {
+            this.towers[i] = new PegView(i);
         }
         reset();
     }
 
     public void reset() {
-        for (Stack<Integer> tower : towers) {
-            tower.clear();
-        }
         // Initialize Peg 0 (Source) with disks.
-        // Larger numbers = larger disks. Pushing N down to 1.
-        for (int i = totalDisks; i >= 1; i--) {
-            towers[0].push(i);
-        }
+        board.reset();
         moves = 0;
+        log.clear();
+        history.reset(board);
+        for (Listener listener : listeners) {
+            listener.boardChanged();
+        }
     }
 
-    public boolean canMove(int fromIndex, int toIndex) {
-        if (towers[fromIndex].isEmpty()) return false;
-        if (towers[toIndex].isEmpty()) return true;
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
 
-        // Cannot place larger disk on smaller disk
-        return towers[fromIndex].peek() < towers[toIndex].peek();
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean canMove(int fromIndex, int toIndex) {
+        return board.canMove(fromIndex, toIndex);
     }
 
     public void move(int fromIndex, int toIndex) {
-        if (canMove(fromIndex, toIndex)) {
-            Integer disk = towers[fromIndex].pop();
-            towers[toIndex].push(disk);
+        // Only allocated while a recording is on, so ordinary moves create no garbage
+        MoveEvent event = MoveEvent.isRecorded() ? new MoveEvent() : null;
+        if (event != null) event.begin();
+        int disk = board.move(fromIndex, toIndex);
+        if (disk != 0) {
             moves++;
+            MOVES.increment();
+            // Recording may push the oldest move out of the history, so the log must catch up first
+            if (log.size() != moves - 1) syncLog(moves - 1);
+            log.append(fromIndex, toIndex);
+            history.record(Moves.encode(fromIndex, toIndex), board);
+            for (Listener listener : listeners) {
+                listener.diskMoved(disk, fromIndex, toIndex);
+            }
+            if (event != null && event.shouldCommit()) {
+                event.disk = disk;
+                event.from = fromIndex;
+                event.to = toIndex;
+                event.commit();
+            }
+        }
+    }
+
+    public boolean canUndo() {
+        return history.canUndo();
+    }
+
+    public boolean canRedo() {
+        return history.canRedo();
+    }
+
+    /**
+     * Takes back the last move. The move count goes down with it, so the game scores as if the move had
+     * never been played.
+     *
+     * @return false if there is nothing left in the history, or its last move cannot be taken back
+     */
+    public boolean undo() {
+        if (!history.canUndo()) return false;
+        int move = history.undo();
+        int disk = board.move(Moves.to(move), Moves.from(move));
+        if (disk == 0) {
+            history.redo();
+            return false;
+        }
+        moves--;
+        for (Listener listener : listeners) {
+            listener.diskMoved(disk, Moves.to(move), Moves.from(move));
+        }
+        return true;
+    }
+
+    /**
+     * Plays the last undone move again.
+     *
+     * @return false if there is nothing to redo, or the move cannot be played
+     */
+    public boolean redo() {
+        if (!history.canRedo()) return false;
+        int move = history.redo();
+        int disk = board.move(Moves.from(move), Moves.to(move));
+        if (disk == 0) {
+            history.undo();
+            return false;
+        }
+        moves++;
+        for (Listener listener : listeners) {
+            listener.diskMoved(disk, Moves.from(move), Moves.to(move));
+        }
+        return true;
+    }
+
+    /** Earliest move count {@link #jumpTo} can go back to. */
+    public long getHistoryStart() {
+        return history.start();
+    }
+
+    /** Latest move count {@link #jumpTo} can go forward to, the end of the undone moves. */
+    public long getHistoryEnd() {
+        return history.end();
+    }
+
+    /**
+     * Goes back or forward to the position after {@code target} moves, without playing the moves in
+     * between one by one: the board is loaded from the nearest checkpoint when that is closer than the
+     * current position. Listeners get one {@link Listener#boardChanged()}.
+     *
+     * @throws IllegalStateException if a move in the history cannot be played on the board; the game is
+     *         left at the last position that could be reached
+     */
+    public void jumpTo(long target) {
+        if (target < history.start() || target > history.end()) {
+            throw new IllegalArgumentException("Move " + target + " is not in the history [" + history.start() + ", " + history.end() + "]");
+        }
+        long checkpoint = history.nearestCheckpoint(target);
+        if (checkpoint >= 0 && Math.abs(target - checkpoint) < Math.abs(target - moves)) {
+            history.restore(checkpoint, board);
+        }
+        boolean replayed = true;
+        while (replayed && history.position() < target) {
+            int move = history.redo();
+            if (board.move(Moves.from(move), Moves.to(move)) == 0) {
+                history.undo();
+                replayed = false;
+            }
+        }
+        while (replayed && history.position() > target) {
+            int move = history.undo();
+            if (board.move(Moves.to(move), Moves.from(move)) == 0) {
+                history.redo();
+                replayed = false;
+            }
+        }
+        moves = history.position();
+        for (Listener listener : listeners) {
+            listener.boardChanged();
+        }
+        if (!replayed) {
+            throw new IllegalStateException("History does not match the board at move " + moves);
         }
     }
 
     public boolean isSolved() {
-        // Solved if all disks are on the last peg (index 2)
-        // or potentially the middle one, but standard is far right.
-        return towers[2].size() == totalDisks;
+        // Solved if all disks are on the last peg
+        return board.isSolved();
     }
 
-    public Stack<Integer> getTower(int index) {
+    public TowerView getTower(int index) {
         return towers[index];
     }
 
-    public int getMoves() {
+    /** Index of the peg holding a disk (1 is the smallest). */
+    public int pegOf(int disk) {
+        return board.pegOf(disk);
+    }
+
+    BitBoard board() {
+        return board;
+    }
+
+    public int getPegCount() {
+        return towers.length;
+    }
+
+    public int getTotalDisks() {
+        return totalDisks;
+    }
+
+    public long getMoves() {
         return moves;
     }
 
-    public int getMinMoves() {
-        return (int) (Math.pow(2, totalDisks) - 1);
+    /**
+     * The moves leading to the current position; undone moves are dropped from it. The log is live, copy it
+     * with {@link MoveLog#toBytes()}.
+     */
+    public MoveLog getMoveLog() {
+        syncLog(moves);
+        return log;
+    }
+
+    /**
+     * Undo, redo and jumps only move through the history, so afterwards the log can hold too many moves or
+     * too few. This trims it to, or refills it from the history up to, the first {@code length} moves.
+     */
+    private void syncLog(long length) {
+        int logged = log.size();
+        if (length < logged) {
+            log.truncate((int) length);
+        } else if (log.isComplete()) {
+            for (long i = logged; i < length; i++) {
+                int move = history.moveAt(i);
+                log.append(Moves.from(move), Moves.to(move));
+            }
+        }
+    }
+
+    /** Minimum number of moves, as an unsigned value (2^64 - 1 for 64 disks). */
+    public long getMinMoves() {
+        return minMoves(totalDisks, towers.length);
     }
 
     public double calculateScore() {
+        return calculateScore(totalDisks, towers.length, moves);
+    }
+
+    /** Score of a solved game without building a board, e.g. to check a submitted score. */
+    public static double calculateScore(int disks, int pegCount, long moves) {
         if (moves == 0) return 0;
-        return ((double) getMinMoves() / moves) * 100.0;
+        return (unsignedToDouble(minMoves(disks, pegCount)) / moves) * 100.0;
+    }
+
+    /** Minimum number of moves for any supported peg count, as an unsigned value. */
+    public static long minMoves(int disks, int pegCount) {
+        if (pegCount == 3) return minMoves(disks);
+        return FrameStewartSolver.getInstance().minMoves(disks, pegCount);
+    }
+
+    /** 2^disks - 1 computed exactly; the result is unsigned so 64 disks still fit. */
+    public static long minMoves(int disks) {
+        return disks >= BitBoard.MAX_DISKS ? -1L : (1L << disks) - 1;
+    }
+
+    private static double unsignedToDouble(long value) {
+        return value >= 0 ? value : ((value >>> 1) | (value & 1L)) * 2.0;
+    }
+
+    private final class PegView implements TowerView {
+        private final int peg;
+
+        PegView(int peg) {
+            this.peg = peg;
+        }
+
+        @Override
+        public int size() {
+            return board.size(peg);
+        }
+
+        @Override
+        public int get(int index) {
+            long mask = board.mask(peg);
+            if (index < 0 || index >= Long.bitCount(mask)) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for tower of size " + Long.bitCount(mask));
+            }
+            // Bottom disk is the highest set bit; strip one per level.
+            for (int i = 0; i < index; i++) {
+                mask &= ~Long.highestOneBit(mask);
+            }
+            return 64 - Long.numberOfLeadingZeros(mask);
+        }
+
+        @Override
+        public int peek() {
+            return board.top(peg);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.hanoi.model;
+
+import java.util.Arrays;
+
+/**
+ * Undo/redo history for {@link GameLogic}. Moves are kept as one {@link Moves} code byte each in a ring
+ * buffer, and every {@link #CHECKPOINT_INTERVAL} moves the board masks are saved, so any position still in
+ * the buffer can be rebuilt by replaying at most half an interval from the nearest checkpoint.
+ *
+ * <p>Positions count moves from the start of the game. Once more than {@code capacity} moves have been
+ * played the oldest drop out and can no longer be undone. The buffer starts small and doubles up to the
+ * capacity; after that, recording and stepping never allocate.
+ */
+public final class MoveHistory {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    public static final int CHECKPOINT_INTERVAL = 256;
+    private static final int INITIAL_LENGTH = 1024;
+
+    private final int pegCount;
+    private final int capacity;
+    private byte[] moves;
+    // pegCount masks per slot; the slot for position p is (p / CHECKPOINT_INTERVAL) % slots
+    private long[] checkpoints;
+    private int slots;
+    private long position;
+    private long end;
+    // Only moves forward: recording after an undo shortens end, but not what the ring has overwritten
+    private long oldest;
+
+    public MoveHistory(int pegCount, int capacity) {
+        if (pegCount > 16) {
+            throw new IllegalArgumentException("Move codes only fit in a byte for up to 16 pegs: " + pegCount);
+        }
+        if (capacity < CHECKPOINT_INTERVAL || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least " + CHECKPOINT_INTERVAL + ": " + capacity);
+        }
+        this.pegCount = pegCount;
+        this.capacity = capacity;
+        allocate(Math.min(capacity, INITIAL_LENGTH));
+    }
+
+    /** Current position, the number of moves between the start and the board as it stands. */
+    public long position() {
+        return position;
+    }
+
+    /** Earliest position that can still be reached. */
+    public long start() {
+        return oldest;
+    }
+
+    /** Latest position that can be reached by redoing moves. */
+    public long end() {
+        return end;
+    }
+
+    public boolean canUndo() {
+        return position > start();
+    }
+
+    public boolean canRedo() {
+        return position < end;
+    }
+
+    /** Forgets every move and saves {@code board} as the starting position. */
+    public void reset(BitBoard board) {
+        position = 0;
+        end = 0;
+        oldest = 0;
+        save(0, board);
+    }
+
+    /**
+     * Records a move just played on {@code board}. Moves that could have been redone from the old position
+     * are dropped.
+     */
+    public void record(int move, BitBoard board) {
+        if (position == moves.length && moves.length < capacity) {
+            allocate(moves.length * 2);
+        }
+        moves[index(position)] = (byte) move;
+        position++;
+        end = position;
+        oldest = Math.max(oldest, end - capacity);
+        if (position % CHECKPOINT_INTERVAL == 0) {
+            save(position, board);
+        }
+    }
+
+    /** Steps back one position and returns the move to take back; the caller plays it in reverse. */
+    public int undo() {
+        if (!canUndo()) throw new IllegalStateException("Nothing to undo");
+        position--;
+        return moves[index(position)] & 0xFF;
+    }
+
+    /** Steps forward one position and returns the move to play again. */
+    public int redo() {
+        if (!canRedo()) throw new IllegalStateException("Nothing to redo");
+        return moves[index(position++)] & 0xFF;
+    }
+
+    /** The move that leads from position {@code index} to {@code index + 1}. */
+    public int moveAt(long index) {
+        if (index < start() || index >= end) {
+            throw new IndexOutOfBoundsException("Move " + index + " is not in the history [" + start() + ", " + end + ")");
+        }
+        return moves[index(index)] & 0xFF;
+    }
+
+    /** Checkpoint closest to {@code target} that is still in the history, or -1 if there is none. */
+    public long nearestCheckpoint(long target) {
+        long below = target - target % CHECKPOINT_INTERVAL;
+        long above = below + CHECKPOINT_INTERVAL;
+        boolean hasBelow = below >= start();
+        boolean hasAbove = above <= end;
+        if (hasBelow && (!hasAbove || target - below <= above - target)) return below;
+        return hasAbove ? above : -1;
+    }
+
+    /** Loads the board saved at {@code checkpoint}, as returned by {@link #nearestCheckpoint}, and moves there. */
+    public void restore(long checkpoint, BitBoard board) {
+        if (checkpoint % CHECKPOINT_INTERVAL != 0 || checkpoint < start() || checkpoint > end) {
+            throw new IllegalArgumentException("No checkpoint at " + checkpoint);
+        }
+        board.copyFrom(checkpoints, slot(checkpoint));
+        position = checkpoint;
+    }
+
+    private void save(long at, BitBoard board) {
+        board.copyTo(checkpoints, slot(at));
+    }
+
+    private int index(long at) {
+        return (int) at & (moves.length - 1);
+    }
+
+    private int slot(long at) {
+        return (int) (at / CHECKPOINT_INTERVAL % slots) * pegCount;
+    }
+
+    /**
+     * Grows the buffers. Only happens before the ring first wraps, while every position still maps to
+     * the same index and slot at any length, so copying keeps them in place.
+     */
+    private void allocate(int length) {
+        moves = moves == null ? new byte[length] : Arrays.copyOf(moves, length);
+        // Enough slots for every checkpoint in a full buffer, including both ends
+        slots = length / CHECKPOINT_INTERVAL + 1;
+        checkpoints = checkpoints == null ? new long[slots * pegCount] : Arrays.copyOf(checkpoints, slots * pegCount);
+    }
+}
\ No newline at end of file
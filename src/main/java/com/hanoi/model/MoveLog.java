@@ -0,0 +1,231 @@
+package com.hanoi.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Every move of a game, bit-packed. With K pegs there are K(K - 1) distinct moves, so each one is stored
+ * as its index among those pairs in ceil(log2(K(K - 1))) bits: 3 bits for the classic three-peg game,
+ * about 384 bytes for an optimal 10 disk game. Appending never allocates except when the buffer doubles.
+ *
+ * <p>The serialized form is the peg count (one byte), the move count (unsigned LEB128 varint) and then
+ * the packed codes, least significant bit first.
+ */
+public final class MoveLog {
+
+    /** Recording stops here (64 MiB for 16 pegs); see {@link #isComplete()}. */
+    public static final int MAX_MOVES = 1 << 26;
+
+    private final int pegCount;
+    private final int bitsPerMove;
+    private long[] words = new long[16];
+    private int size;
+    private boolean overflowed;
+
+    public MoveLog(int pegCount) {
+        if (pegCount < 3 || pegCount > FrameStewartSolver.MAX_PEGS) {
+            throw new IllegalArgumentException("Peg count must be between 3 and " + FrameStewartSolver.MAX_PEGS + ": " + pegCount);
+        }
+        this.pegCount = pegCount;
+        this.bitsPerMove = 32 - Integer.numberOfLeadingZeros(pegCount * (pegCount - 1) - 1);
+    }
+
+    public int getPegCount() {
+        return pegCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** False once more than {@link #MAX_MOVES} moves were played; the log then holds only the first ones. */
+    public boolean isComplete() {
+        return !overflowed;
+    }
+
+    public void clear() {
+        // append() ORs codes into place, so the used words must be zeroed
+        Arrays.fill(words, 0, usedWords(), 0L);
+        size = 0;
+        overflowed = false;
+    }
+
+    /** Keeps only the first {@code newSize} moves, e.g. after the game stepped back through its history. */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("Size " + newSize + " out of bounds for log of size " + size);
+        }
+        int used = usedWords();
+        long bit = (long) newSize * bitsPerMove;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        // Zero every bit past the new end, since append() ORs codes into place
+        if (shift != 0) {
+            words[word++] &= (1L << shift) - 1;
+        }
+        Arrays.fill(words, word, used, 0L);
+        size = newSize;
+        overflowed = false;
+    }
+
+    public void append(int from, int to) {
+        if (size == MAX_MOVES) {
+            overflowed = true;
+            return;
+        }
+        long bit = (long) size * bitsPerMove;
+        int word = (int) (bit >>> 6);
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        long code = pairIndex(from, to);
+        int shift = (int) (bit & 63);
+        words[word] |= code << shift;
+        if (shift + bitsPerMove > 64) {
+            words[word + 1] |= code >>> (64 - shift);
+        }
+        size++;
+    }
+
+    /** The move at {@code index} as a {@link Moves} code. */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for log of size " + size);
+        }
+        long bit = (long) index * bitsPerMove;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long code = words[word] >>> shift;
+        if (shift + bitsPerMove > 64) {
+            code |= words[word + 1] << (64 - shift);
+        }
+        return pairMove((int) (code & ((1L << bitsPerMove) - 1)));
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next >= size) throw new NoSuchElementException();
+                return get(next++);
+            }
+        };
+    }
+
+    /**
+     * Plays the logged moves on {@code logic}, which should be freshly reset, so its listeners see every move.
+     *
+     * @throws IllegalArgumentException if the log does not fit the board or contains an illegal move
+     */
+    public void replay(GameLogic logic) {
+        if (logic.getPegCount() != pegCount) {
+            throw new IllegalArgumentException("Log is for " + pegCount + " pegs, board has " + logic.getPegCount());
+        }
+        for (int i = 0; i < size; i++) {
+            int move = get(i);
+            int from = Moves.from(move);
+            int to = Moves.to(move);
+            if (!logic.canMove(from, to)) {
+                throw new IllegalArgumentException("Illegal move " + Moves.format(move) + " at index " + i);
+            }
+            logic.move(from, to);
+        }
+    }
+
+    public byte[] toBytes() {
+        int payload = (int) (((long) size * bitsPerMove + 7) >>> 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload + 6);
+        out.write(pegCount);
+        for (int n = size; ; n >>>= 7) {
+            if ((n & ~0x7F) == 0) {
+                out.write(n);
+                break;
+            }
+            out.write((n & 0x7F) | 0x80);
+        }
+        for (int i = 0; i < payload; i++) {
+            out.write((int) (words[i >>> 3] >>> ((i & 7) << 3)));
+        }
+        return out.toByteArray();
+    }
+
+    /** Reads a log written by {@link #toBytes()}. */
+    public static MoveLog fromBytes(byte[] data) {
+        MoveLog log = new MoveLog(pegCount(data));
+        log.readFrom(data);
+        for (int i = 0; i < log.size; i++) {
+            log.get(i); // Reject codes that do not name a pair of pegs
+        }
+        return log;
+    }
+
+    /** Peg count of a serialized log. */
+    public static int pegCount(byte[] data) {
+        if (data.length < 2) throw new IllegalArgumentException("Move log is truncated");
+        return data[0] & 0xFF;
+    }
+
+    /**
+     * Replaces this log with one written by {@link #toBytes()} for the same peg count, reusing the buffer.
+     * Codes are not checked up front; {@link #get} rejects one that does not name a pair of pegs.
+     */
+    public void readFrom(byte[] data) {
+        if (pegCount(data) != pegCount) {
+            throw new IllegalArgumentException("Log is for " + pegCount(data) + " pegs, expected " + pegCount);
+        }
+        int pos = 1;
+        long count = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (pos >= data.length || shift > 28) throw new IllegalArgumentException("Bad move count in move log");
+            int b = data[pos++];
+            count |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+        }
+        if (count > MAX_MOVES) throw new IllegalArgumentException("Move log is too long: " + count);
+
+        int payload = (int) ((count * bitsPerMove + 7) >>> 3);
+        if (data.length - pos != payload) {
+            throw new IllegalArgumentException("Move log should hold " + payload + " bytes of moves, found " + (data.length - pos));
+        }
+        int needed = (payload >>> 3) + 2;
+        if (words.length < needed) {
+            words = new long[needed];
+        } else {
+            Arrays.fill(words, 0, Math.min(words.length, Math.max(needed, usedWords())), 0L);
+        }
+        for (int i = 0; i < payload; i++) {
+            words[i >>> 3] |= (data[pos + i] & 0xFFL) << ((i & 7) << 3);
+        }
+        size = (int) count;
+        overflowed = false;
+    }
+
+    private int usedWords() {
+        return (int) Math.min(words.length, (((long) size * bitsPerMove) >>> 6) + 2);
+    }
+
+    private int pairIndex(int from, int to) {
+        if (from == to || from < 0 || to < 0 || from >= pegCount || to >= pegCount) {
+            throw new IllegalArgumentException("Not a move: " + from + " → " + to);
+        }
+        return from * (pegCount - 1) + (to > from ? to - 1 : to);
+    }
+
+    private int pairMove(int index) {
+        if (index >= pegCount * (pegCount - 1)) {
+            throw new IllegalArgumentException("Invalid move code " + index);
+        }
+        int from = index / (pegCount - 1);
+        int to = index % (pegCount - 1);
+        return Moves.encode(from, to >= from ? to + 1 : to);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.hanoi.model;
+
+/** Which peg-to-peg moves a three-peg variant allows, on top of the usual smaller-on-larger rule. */
+public enum MoveRule {
+    // Any peg to any other peg
+    STANDARD,
+    // Only A -> B -> C -> A
+    CYCLIC,
+    // Only between neighbouring pegs, A <-> B <-> C
+    ADJACENT;
+
+    public boolean allows(int from, int to) {
+        if (from == to) return false;
+        return switch (this) {
+            case STANDARD -> true;
+            case CYCLIC -> to == (from + 1) % 3;
+            case ADJACENT -> Math.abs(from - to) == 1;
+        };
+    }
+}
\ No newline at end of file
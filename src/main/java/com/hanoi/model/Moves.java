@@ -0,0 +1,31 @@
+package com.hanoi.model;
+
+/**
+ * Moves are passed around as packed {@code int} codes so solvers can stream them without allocating.
+ * The source peg lives in the upper bits and the target peg in the low 4 bits.
+ */
+public final class Moves {
+
+    /** Returned when there is no move to make, e.g. the board is already solved. */
+    public static final int NONE = -1;
+
+    private Moves() {}
+
+    public static int encode(int from, int to) {
+        return (from << 4) | to;
+    }
+
+    public static int from(int move) {
+        return move >>> 4;
+    }
+
+    public static int to(int move) {
+        return move & 0xF;
+    }
+
+    /** Human readable form, e.g. "A → C". */
+    public static String format(int move) {
+        if (move == NONE) return "-";
+        return (char) ('A' + from(move)) + " → " + (char) ('A' + to(move));
+    }
+}
\ No newline at end of file
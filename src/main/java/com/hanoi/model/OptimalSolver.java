@@ -0,0 +1,187 @@
+package com.hanoi.model;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Optimal three-peg solution (peg A to peg C) computed from the binary representation of the move number,
+ * so no recursion or move list is needed. Move {@code m} (1-based) goes from {@code (m & (m - 1)) % 3} to
+ * {@code ((m | (m - 1)) + 1) % 3}; for an even disk count pegs B and C swap roles.
+ *
+ * <p>Move indices and counts are unsigned {@code long}s: a 64 disk game has 2^64 - 1 moves.
+ * Moves are returned as {@link Moves} codes.
+ */
+public final class OptimalSolver {
+
+    private final int totalDisks;
+    private final long moveCount;
+    private final boolean swapTargets;
+
+    public OptimalSolver(int totalDisks) {
+        if (totalDisks < 1 || totalDisks > BitBoard.MAX_DISKS) {
+            throw new IllegalArgumentException("Disk count must be between 1 and " + BitBoard.MAX_DISKS + ": " + totalDisks);
+        }
+        this.totalDisks = totalDisks;
+        this.moveCount = GameLogic.minMoves(totalDisks);
+        this.swapTargets = (totalDisks & 1) == 0;
+    }
+
+    public int getTotalDisks() {
+        return totalDisks;
+    }
+
+    /** Length of the optimal solution, as an unsigned value. */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /** The move played after {@code k} moves of the optimal solution (0-based, unsigned). O(1). */
+    public int moveAt(long k) {
+        checkIndex(k);
+        return moveNumber(k + 1);
+    }
+
+    /** Board after the first {@code k} moves of the optimal solution. O(N). */
+    public BitBoard stateAt(long k) {
+        BitBoard board = new BitBoard(3, totalDisks);
+        stateAt(k, board);
+        return board;
+    }
+
+    /** Writes the board after the first {@code k} moves into {@code target}, without allocating. */
+    public void stateAt(long k, BitBoard target) {
+        if (Long.compareUnsigned(k, moveCount) > 0) {
+            throw new IndexOutOfBoundsException("Move " + Long.toUnsignedString(k) + " is past the end of the solution");
+        }
+        if (target.getPegCount() != 3 || target.getTotalDisks() != totalDisks) {
+            throw new IllegalArgumentException("Target board must have 3 pegs and " + totalDisks + " disks");
+        }
+        target.clear();
+        for (int d = 0; d < totalDisks; d++) {
+            // Disk d has moved floor((k + 2^d) / 2^(d+1)) times, always in the same cyclic direction.
+            long high = d == 63 ? 0L : k >>> (d + 1);
+            long times = high + ((k >>> d) & 1L);
+            int step = ((totalDisks - d) & 1) == 1 ? 2 : 1;
+            int peg = (int) ((Long.remainderUnsigned(times, 3) * step) % 3);
+            target.place(d + 1, peg);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new MoveIterator(0L, moveCount);
+    }
+
+    public Spliterator.OfInt spliterator() {
+        return new MoveSpliterator(0L, moveCount);
+    }
+
+    /** Spliterator over moves {@code [fromInclusive, toExclusive)}, unsigned. */
+    public Spliterator.OfInt spliterator(long fromInclusive, long toExclusive) {
+        if (Long.compareUnsigned(fromInclusive, toExclusive) > 0 || Long.compareUnsigned(toExclusive, moveCount) > 0) {
+            throw new IndexOutOfBoundsException("Invalid move range");
+        }
+        return new MoveSpliterator(fromInclusive, toExclusive);
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    private void checkIndex(long k) {
+        if (Long.compareUnsigned(k, moveCount) >= 0) {
+            throw new IndexOutOfBoundsException("Move " + Long.toUnsignedString(k) + " is past the end of the solution");
+        }
+    }
+
+    /** Move for the 1-based move number {@code m}. */
+    private int moveNumber(long m) {
+        int from = (int) Long.remainderUnsigned(m & (m - 1), 3);
+        // (m | (m - 1)) + 1 can overflow for m = 2^64 - 1, so add one after reducing.
+        int to = (int) ((Long.remainderUnsigned(m | (m - 1), 3) + 1) % 3);
+        return Moves.encode(mapPeg(from), mapPeg(to));
+    }
+
+    private int mapPeg(int peg) {
+        return swapTargets && peg != 0 ? 3 - peg : peg;
+    }
+
+    private final class MoveIterator implements PrimitiveIterator.OfInt {
+        private long next;
+        private final long end;
+
+        MoveIterator(long start, long end) {
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != end;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next == end) throw new NoSuchElementException();
+            return moveNumber(++next);
+        }
+    }
+
+    private final class MoveSpliterator implements Spliterator.OfInt {
+        private static final int MIN_SPLIT = 1 << 12;
+
+        private long next;
+        private final long end;
+
+        MoveSpliterator(long start, long end) {
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (next == end) return false;
+            action.accept(moveNumber(++next));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long m = next;
+            long last = end;
+            next = end;
+            while (m != last) {
+                action.accept(moveNumber(++m));
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long remaining = end - next;
+            if (Long.compareUnsigned(remaining, MIN_SPLIT) < 0) return null;
+            long mid = next + (remaining >>> 1);
+            MoveSpliterator prefix = new MoveSpliterator(next, mid);
+            next = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long remaining = end - next;
+            return remaining < 0 ? Long.MAX_VALUE : remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            int base = ORDERED | NONNULL | IMMUTABLE;
+            return end - next < 0 ? base : base | SIZED | SUBSIZED;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.hanoi.model;
+
+/**
+ * Exact analysis of any legal three-peg position relative to the goal (every disk on peg C).
+ *
+ * <p>Walking from the largest disk down, a disk already on its current target leaves the target unchanged.
+ * A disk elsewhere must eventually move straight to the target, which costs 2^d moves including parking
+ * the smaller disks, and the smaller disks then target the remaining peg. The last such disk is
+ * free to move now, which gives the next optimal move. Both queries run in O(N) without allocating.
+ */
+public final class PositionAnalyzer {
+
+    private static final int GOAL_PEG = 2;
+
+    private PositionAnalyzer() {}
+
+    /** Minimum number of moves left to solve the game, as an unsigned value. */
+    public static long distanceToGoal(GameLogic logic) {
+        return distanceToGoal(logic.board());
+    }
+
+    /** Next move on an optimal path to the goal, or {@link Moves#NONE} if already solved. */
+    public static int nextMove(GameLogic logic) {
+        return nextMove(logic.board());
+    }
+
+    public static long distanceToGoal(BitBoard board) {
+        checkShape(board);
+        long onB = board.mask(1);
+        long onC = board.mask(2);
+        int target = GOAL_PEG;
+        long distance = 0L;
+        for (int d = board.getTotalDisks() - 1; d >= 0; d--) {
+            int peg = pegOf(onB, onC, d);
+            if (peg != target) {
+                distance += 1L << d;
+                target = 3 - peg - target;
+            }
+        }
+        return distance;
+    }
+
+    public static int nextMove(BitBoard board) {
+        checkShape(board);
+        long onB = board.mask(1);
+        long onC = board.mask(2);
+        int target = GOAL_PEG;
+        int move = Moves.NONE;
+        for (int d = board.getTotalDisks() - 1; d >= 0; d--) {
+            int peg = pegOf(onB, onC, d);
+            if (peg != target) {
+                move = Moves.encode(peg, target);
+                target = 3 - peg - target;
+            }
+        }
+        return move;
+    }
+
+    private static int pegOf(long onB, long onC, int d) {
+        return (int) ((onB >>> d) & 1L) | (int) (((onC >>> d) & 1L) << 1);
+    }
+
+    private static void checkShape(BitBoard board) {
+        if (board.getPegCount() != 3) {
+            throw new IllegalArgumentException("Position analysis needs exactly 3 pegs: " + board.getPegCount());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.hanoi.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Exhaustive breadth-first search over every three-peg position, for exact shortest distances between
+ * arbitrary positions and under the {@link MoveRule} variants that have no closed-form answer.
+ *
+ * <p>Positions are packed {@code long}s holding 2 bits per disk (bits {@code 2d..2d+1} give the peg of disk
+ * {@code d + 1}), so the top disk of every peg falls out of a few mask operations. Each position is also
+ * ranked in base 3, which indexes a dense {@code long[]} visited bitset of 3^N bits (about 48 MB for 18 disks).
+ * Frontiers are primitive arrays of packed positions and ranks; wide levels are split across the common
+ * fork/join pool, and workers claim positions with an atomic bitwise OR on the visited set.
+ */
+public final class StateSpaceExplorer {
+
+    public static final int MAX_DISKS = 20;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long LOW_BITS = 0x5555555555555555L;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int CHUNK_SIZE = 1 << 12;
+
+    private final int totalDisks;
+    private final MoveRule rule;
+    private final long stateCount;
+    private final long laneMask;
+    private final long[] pow3;
+    private final int[] moveFrom;
+    private final int[] moveTo;
+
+    public StateSpaceExplorer(int totalDisks, MoveRule rule) {
+        if (totalDisks < 1 || totalDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("Disk count must be between 1 and " + MAX_DISKS + ": " + totalDisks);
+        }
+        this.totalDisks = totalDisks;
+        this.rule = rule;
+        this.laneMask = LOW_BITS & ((1L << (2 * totalDisks)) - 1);
+        this.pow3 = new long[totalDisks + 1];
+        pow3[0] = 1;
+        for (int d = 1; d <= totalDisks; d++) {
+            pow3[d] = pow3[d - 1] * 3;
+        }
+        this.stateCount = pow3[totalDisks];
+
+        int allowed = 0;
+        int[] from = new int[6];
+        int[] to = new int[6];
+        for (int f = 0; f < 3; f++) {
+            for (int t = 0; t < 3; t++) {
+                if (rule.allows(f, t)) {
+                    from[allowed] = f;
+                    to[allowed] = t;
+                    allowed++;
+                }
+            }
+        }
+        this.moveFrom = Arrays.copyOf(from, allowed);
+        this.moveTo = Arrays.copyOf(to, allowed);
+    }
+
+    /** Packs a three-peg board, 2 bits per disk. */
+    public static long encode(BitBoard board) {
+        if (board.getPegCount() != 3 || board.getTotalDisks() > MAX_DISKS) {
+            throw new IllegalArgumentException("Only three-peg boards of up to " + MAX_DISKS + " disks can be packed");
+        }
+        long packed = 0L;
+        for (int disk = 1; disk <= board.getTotalDisks(); disk++) {
+            packed |= (long) board.pegOf(disk) << (2 * (disk - 1));
+        }
+        return packed;
+    }
+
+    /** Loads a packed position into {@code target}. */
+    public static void decode(long packed, BitBoard target) {
+        target.clear();
+        for (int disk = 1; disk <= target.getTotalDisks(); disk++) {
+            target.place(disk, (int) ((packed >>> (2 * (disk - 1))) & 3L));
+        }
+    }
+
+    public long distance(BitBoard start, BitBoard goal) {
+        return distance(encode(start), encode(goal));
+    }
+
+    /**
+     * Length of the shortest move sequence from {@code start} to {@code goal} under this explorer's rule,
+     * or -1 if the goal cannot be reached.
+     */
+    public long distance(long start, long goal) {
+        long source = rank(start);
+        long target = rank(goal);
+        if (source == target) return 0;
+
+        long[] visited = new long[(int) ((stateCount + 63) >>> 6)];
+        claim(visited, source);
+        Frontier current = new Frontier();
+        Frontier next = new Frontier();
+        current.add(start, source);
+
+        for (long level = 1; ; level++) {
+            next.clear();
+            if (current.size >= PARALLEL_THRESHOLD) {
+                expandParallel(current, next, visited);
+            } else {
+                expand(current, 0, current.size, next, visited);
+            }
+            if (next.size == 0) return -1;
+            if (isSet(visited, target)) return level;
+
+            Frontier swap = current;
+            current = next;
+            next = swap;
+        }
+    }
+
+    public int getTotalDisks() {
+        return totalDisks;
+    }
+
+    public MoveRule getRule() {
+        return rule;
+    }
+
+    /** Number of positions, 3^N. */
+    public long getStateCount() {
+        return stateCount;
+    }
+
+    private void expandParallel(Frontier current, Frontier next, long[] visited) {
+        int chunks = (current.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    Frontier found = new Frontier();
+                    int first = chunk * CHUNK_SIZE;
+                    expand(current, first, Math.min(first + CHUNK_SIZE, current.size), found, visited);
+                    return found;
+                })
+                .forEachOrdered(next::addAll);
+    }
+
+    private void expand(Frontier current, int first, int last, Frontier next, long[] visited) {
+        for (int i = first; i < last; i++) {
+            long packed = current.packed[i];
+            long rank = current.ranks[i];
+
+            // One lane per disk; a lane reads 00, 01 or 10 for pegs A, B and C
+            long low = packed & laneMask;
+            long high = (packed >>> 1) & laneMask;
+            int top0 = topDisk(~(low | high) & laneMask);
+            int top1 = topDisk(low & ~high);
+            int top2 = topDisk(high & ~low);
+
+            for (int m = 0; m < moveFrom.length; m++) {
+                int from = moveFrom[m];
+                int to = moveTo[m];
+                int disk = from == 0 ? top0 : from == 1 ? top1 : top2;
+                int blocker = to == 0 ? top0 : to == 1 ? top1 : top2;
+                if (disk >= blocker) continue;
+
+                long neighbourRank = rank + (to - from) * pow3[disk];
+                if (claim(visited, neighbourRank)) {
+                    next.add(packed + ((long) (to - from) << (2 * disk)), neighbourRank);
+                }
+            }
+        }
+    }
+
+    /** Smallest disk among the set lanes, or MAX_DISKS if the peg is empty. */
+    private static int topDisk(long lanes) {
+        return lanes == 0L ? MAX_DISKS : Long.numberOfTrailingZeros(lanes) >>> 1;
+    }
+
+    private long rank(long packed) {
+        long rank = 0;
+        for (int d = totalDisks - 1; d >= 0; d--) {
+            int peg = (int) ((packed >>> (2 * d)) & 3L);
+            if (peg > 2) {
+                throw new IllegalArgumentException("Invalid peg " + peg + " for disk " + (d + 1));
+            }
+            rank = rank * 3 + peg;
+        }
+        return rank;
+    }
+
+    private static boolean isSet(long[] bits, long index) {
+        return (bits[(int) (index >>> 6)] & (1L << index)) != 0L;
+    }
+
+    /** Atomically marks a position visited; returns false if another worker got there first. */
+    private static boolean claim(long[] bits, long index) {
+        long bit = 1L << index;
+        long previous = (long) WORDS.getAndBitwiseOr(bits, (int) (index >>> 6), bit);
+        return (previous & bit) == 0L;
+    }
+
+    /** Growable pair of primitive arrays holding packed positions and their base-3 ranks. */
+    private static final class Frontier {
+        private long[] packed = new long[64];
+        private long[] ranks = new long[64];
+        private int size;
+
+        void add(long position, long rank) {
+            if (size == packed.length) grow(size + 1);
+            packed[size] = position;
+            ranks[size] = rank;
+            size++;
+        }
+
+        void addAll(Frontier other) {
+            if (size + other.size > packed.length) grow(size + other.size);
+            System.arraycopy(other.packed, 0, packed, size, other.size);
+            System.arraycopy(other.ranks, 0, ranks, size, other.size);
+            size += other.size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        private void grow(int needed) {
+            int capacity = Math.max(needed, packed.length * 2);
+            packed = Arrays.copyOf(packed, capacity);
+            ranks = Arrays.copyOf(ranks, capacity);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.hanoi.model;
+
+/**
+ * Read-only, non-boxing view of a single peg.
+ * Index 0 is the bottom disk, {@code size() - 1} the top one. Disk sizes start at 1 (smallest).
+ */
+public interface TowerView {
+
+    int size();
+
+    /** Disk size at the given height, counted from the bottom. */
+    int get(int index);
+
+    /** Size of the top disk, or 0 if the peg is empty. */
+    int peek();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,337 @@
+package com.hanoi.server;
+
+import com.hanoi.db.LeaderboardCache;
+import com.hanoi.db.ScoreStore;
+import com.hanoi.db.ScoreStore.ScoreRecord;
+import com.hanoi.db.ScoreStore.ScoreSubmission;
+import com.hanoi.db.ScoreWriter;
+import com.hanoi.metrics.MetricsReporter;
+import com.hanoi.model.Difficulty;
+import com.hanoi.model.FrameStewartSolver;
+import com.hanoi.util.Threads;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless server hosting many games at once, for tournaments and bot ladders. Clients connect over TCP
+ * and send one command per line; each connection is served on its own (virtual, where available) thread.
+ * Sessions sit in a concurrent map keyed by a random id and lock only themselves, so games never contend
+ * with each other, and any connection may play any session it knows the id of. Finished games go through
+ * the shared {@link ScoreWriter}, which stores them in batches on a single thread.
+ *
+ * <pre>
+ * NEW disks pegs name      OK id min-moves
+ * MOVE id from to          OK moves, or OK moves SOLVED score once the board is solved,
+ *                          followed by UNRANKED for games with more than 3 pegs, which are not saved
+ * UNDO id                  OK moves
+ * STATE id                 OK moves peg...   each peg bottom to top, e.g. 3,2,1, or - if empty
+ * END id                   OK                abandons the game
+ * TOP [difficulty] [n]     OK count, then one line per score: score moves disks difficulty name
+ * PING                     OK
+ * QUIT                     OK                and the server closes the connection
+ * </pre>
+ *
+ * Pegs are numbered from 0. Failures reply {@code ERR reason}. Solved and abandoned games are dropped
+ * from the server, as are games left idle for longer than {@code -idle} minutes.
+ */
+public final class GameServer implements AutoCloseable {
+
+    private static final String USAGE = """
+            Usage: java -cp ... com.hanoi.server.GameServer [options]
+              -port N         TCP port (default 7070)
+              -bind ADDRESS   interface to listen on (default 127.0.0.1)
+              -sessions N     most games hosted at once (default 100000)
+              -idle M         drop games idle for M minutes (default 30)
+            The score store is picked with -Dhanoi.store, as for the game.
+            """;
+
+    private final ServerSocket serverSocket;
+    private final ScoreWriter scoreWriter;
+    private final LeaderboardCache leaderboard;
+    private final int maxSessions;
+    private final long idleNanos;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final SecureRandom ids = new SecureRandom();
+    private final ExecutorService connections = Threads.newPerTaskExecutor("connection");
+    private final ScheduledExecutorService sweeper =
+            Executors.newSingleThreadScheduledExecutor(Threads.daemonFactory("session-sweeper"));
+    private volatile boolean running = true;
+
+    public GameServer(InetSocketAddress address, ScoreWriter scoreWriter, LeaderboardCache leaderboard,
+                      int maxSessions, long idleMinutes) throws IOException {
+        if (maxSessions < 1 || idleMinutes < 1) {
+            throw new IllegalArgumentException("Session limit and idle time must be positive");
+        }
+        this.scoreWriter = scoreWriter;
+        this.leaderboard = leaderboard;
+        this.maxSessions = maxSessions;
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address, 1024);
+        sweeper.scheduleWithFixedDelay(this::dropIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-help") || args[i].equals("-h") || !args[i].startsWith("-") || i + 1 == args.length) {
+                System.out.print(USAGE);
+                return;
+            }
+            options.put(args[i].substring(1), args[++i]);
+        }
+        InetSocketAddress address = new InetSocketAddress(options.getOrDefault("bind", "127.0.0.1"),
+                Integer.parseInt(options.getOrDefault("port", "7070")));
+
+        // Every singleton is looked up once here; requests only use the references
+        ScoreStore store = ScoreStore.getInstance();
+        ScoreWriter writer = ScoreWriter.getInstance();
+        MetricsReporter metricsReporter = MetricsReporter.fromSystemProperties();
+        GameServer server = new GameServer(address, writer, LeaderboardCache.getInstance(),
+                Integer.parseInt(options.getOrDefault("sessions", "100000")),
+                Long.parseLong(options.getOrDefault("idle", "30")));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            // Flush finished games before the store goes away
+            writer.close();
+            store.close();
+            if (metricsReporter != null) metricsReporter.close();
+        }, "server-shutdown"));
+
+        System.out.printf("Listening on %s:%d with %s threads%n", address.getHostString(), server.getPort(),
+                Threads.virtualThreadsAvailable() ? "virtual" : "platform");
+        server.serve();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /** Accepts connections until the server is closed. */
+    public void serve() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (running) e.printStackTrace();
+            }
+        }
+    }
+
+    /** Stops accepting connections and disconnects every client; games in progress are dropped. */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        for (Socket socket : clients) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+        connections.shutdown();
+        sweeper.shutdownNow();
+        sessions.clear();
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                boolean quit = line.strip().equalsIgnoreCase("QUIT");
+                out.write(quit ? "OK" : execute(line));
+                out.write('\n');
+                if (quit) break;
+                // Replies to pipelined commands go out together
+                if (!in.ready()) out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away; its sessions stay until they finish or go idle
+        } finally {
+            clients.remove(socket);
+        }
+    }
+
+    /** Runs one command line and returns its reply, without the line break. */
+    String execute(String line) {
+        Tokens tokens = new Tokens(line);
+        String command = tokens.next();
+        try {
+            return switch (command.toUpperCase(Locale.ROOT)) {
+                case "MOVE" -> move(tokens);
+                case "NEW" -> newGame(tokens);
+                case "UNDO" -> undo(tokens);
+                case "STATE" -> "OK " + session(tokens).describe();
+                case "END" -> sessions.remove(tokens.next()) != null ? "OK" : "ERR unknown session";
+                case "TOP" -> top(tokens);
+                case "PING" -> "OK";
+                case "" -> "ERR empty command";
+                default -> "ERR unknown command: " + command;
+            };
+        } catch (NumberFormatException e) {
+            return "ERR bad number";
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private String newGame(Tokens tokens) {
+        int disks = tokens.nextInt();
+        int pegs = tokens.nextInt();
+        String name = tokens.rest();
+        if (name.isEmpty()) throw new IllegalArgumentException("missing name");
+        if (disks < Difficulty.MIN_DISKS || disks > Difficulty.MAX_DISKS) {
+            throw new IllegalArgumentException("disks must be between " + Difficulty.MIN_DISKS + " and " + Difficulty.MAX_DISKS);
+        }
+        if (pegs < 3 || pegs > FrameStewartSolver.MAX_PEGS) {
+            throw new IllegalArgumentException("pegs must be between 3 and " + FrameStewartSolver.MAX_PEGS);
+        }
+        if (sessions.size() >= maxSessions) return "ERR too many sessions";
+
+        GameSession session;
+        do {
+            session = new GameSession(String.format(Locale.ROOT, "%016x", ids.nextLong()), name, disks, pegs);
+        } while (sessions.putIfAbsent(session.getId(), session) != null);
+        return "OK " + session.getId() + " " + Long.toUnsignedString(session.getMinMoves());
+    }
+
+    private String move(Tokens tokens) {
+        GameSession session = session(tokens);
+        int from = tokens.nextInt();
+        int to = tokens.nextInt();
+        if (!session.move(from, to)) {
+            return session.isFinished() ? "ERR game is over" : "ERR illegal move";
+        }
+        ScoreSubmission result = session.takeResult();
+        if (result == null) return "OK " + session.getMoves();
+
+        sessions.remove(session.getId());
+        if (!session.isRanked()) {
+            return String.format(Locale.ROOT, "OK %d SOLVED %.1f UNRANKED", result.moves(), result.score());
+        }
+        try {
+            // Blocks while the writer's queue is full, which slows down whoever is finishing games fastest
+            scoreWriter.submit(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERR score not saved";
+        } catch (IllegalStateException e) {
+            return "ERR score not saved";
+        }
+        return String.format(Locale.ROOT, "OK %d SOLVED %.1f", result.moves(), result.score());
+    }
+
+    private String undo(Tokens tokens) {
+        GameSession session = session(tokens);
+        return session.undo() ? "OK " + session.getMoves() : "ERR nothing to undo";
+    }
+
+    private String top(Tokens tokens) {
+        String level = tokens.next();
+        Difficulty difficulty = null;
+        int limit = 5;
+        if (!level.isEmpty() && Character.isDigit(level.charAt(0))) {
+            limit = Integer.parseInt(level);
+        } else if (!level.isEmpty()) {
+            try {
+                difficulty = Difficulty.valueOf(level.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("unknown difficulty: " + level);
+            }
+            String count = tokens.next();
+            if (!count.isEmpty()) limit = Integer.parseInt(count);
+        }
+        limit = Math.max(0, Math.min(limit, leaderboard.getCapacity()));
+        List<ScoreRecord> scores = difficulty == null
+                ? leaderboard.getTopScores(limit)
+                : leaderboard.getTopScores(difficulty, limit);
+
+        StringBuilder reply = new StringBuilder("OK ").append(scores.size());
+        for (ScoreRecord s : scores) {
+            reply.append('\n').append(String.format(Locale.ROOT, "%.1f %d %d %s %s", s.score(), s.moves(), s.disks(), s.difficulty(), s.name()));
+        }
+        return reply.toString();
+    }
+
+    private GameSession session(Tokens tokens) {
+        GameSession session = sessions.get(tokens.next());
+        if (session == null) throw new IllegalArgumentException("unknown session");
+        return session;
+    }
+
+    private void dropIdleSessions() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> now - session.getLastActive() > idleNanos);
+    }
+
+    /** Splits a command line on spaces without regular expressions; MOVE lines are the hot path. */
+    private static final class Tokens {
+        private final String line;
+        private int position;
+
+        Tokens(String line) {
+            this.line = line;
+        }
+
+        /** The next word, or "" at the end of the line. */
+        String next() {
+            skipSpaces();
+            int start = position;
+            while (position < line.length() && !Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            return line.substring(start, position);
+        }
+
+        int nextInt() {
+            return Integer.parseInt(next());
+        }
+
+        /** Everything left on the line, trimmed. */
+        String rest() {
+            skipSpaces();
+            return line.substring(position).strip();
+        }
+
+        private void skipSpaces() {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
\ No newline at end of file
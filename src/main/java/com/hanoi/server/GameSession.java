@@ -0,0 +1,106 @@
+package com.hanoi.server;
+
+import com.hanoi.db.ScoreStore.ScoreSubmission;
+import com.hanoi.model.Difficulty;
+import com.hanoi.model.GameLogic;
+import com.hanoi.model.MoveLog;
+import com.hanoi.model.TowerView;
+
+/**
+ * One game hosted by {@link GameServer}. Every method locks only this session, so players on different
+ * boards never wait for each other; a bot pipelining moves on one board is the only thing that queues.
+ */
+final class GameSession {
+
+    private final String id;
+    private final String playerName;
+    private final Difficulty difficulty;
+    private final GameLogic logic;
+    private final boolean ranked;
+    private volatile long lastActive;
+    private boolean finished;
+    private boolean reported;
+
+    GameSession(String id, String playerName, int disks, int pegs) {
+        this.id = id;
+        this.playerName = playerName;
+        this.difficulty = Difficulty.forDisks(disks);
+        this.logic = new GameLogic(disks, pegs);
+        // The leaderboards are keyed by difficulty alone, which only means something with three pegs
+        this.ranked = pegs == 3;
+        touch();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    long getLastActive() {
+        return lastActive;
+    }
+
+    /** Whether the finished game belongs on the leaderboards. */
+    boolean isRanked() {
+        return ranked;
+    }
+
+    synchronized long getMinMoves() {
+        return logic.getMinMoves();
+    }
+
+    /** Plays a move; returns false if it is illegal or the game is over. */
+    synchronized boolean move(int from, int to) {
+        touch();
+        int pegs = logic.getPegCount();
+        if (finished || from < 0 || to < 0 || from >= pegs || to >= pegs || !logic.canMove(from, to)) return false;
+        logic.move(from, to);
+        finished = logic.isSolved();
+        return true;
+    }
+
+    synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /** The finished game, once: null before the board is solved and on every later call. */
+    synchronized ScoreSubmission takeResult() {
+        if (!finished || reported) return null;
+        reported = true;
+        MoveLog log = logic.getMoveLog();
+        return new ScoreSubmission(playerName, difficulty, logic.getTotalDisks(),
+                logic.getMoves(), logic.calculateScore(), log.isComplete() ? log.toBytes() : null);
+    }
+
+    /** Takes back the last move; a solved game can no longer change. */
+    synchronized boolean undo() {
+        touch();
+        return !finished && logic.undo();
+    }
+
+    synchronized long getMoves() {
+        return logic.getMoves();
+    }
+
+    /** Move count and each peg bottom to top, as in the STATE reply: {@code 7 3,2,1 - -}. */
+    synchronized String describe() {
+        touch();
+        StringBuilder sb = new StringBuilder().append(logic.getMoves());
+        for (int peg = 0; peg < logic.getPegCount(); peg++) {
+            TowerView tower = logic.getTower(peg);
+            sb.append(' ');
+            if (tower.isEmpty()) {
+                sb.append('-');
+                continue;
+            }
+            for (int i = 0; i < tower.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(tower.get(i));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void touch() {
+        lastActive = System.nanoTime();
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ module com.hanoi {
     requires javafx.fxml;
     requires java.sql;
     requires org.xerial.sqlitejdbc;
+    requires jdk.jfr;
 
     // Allow JavaFX to access the Main class for launching
     opens com.hanoi to javafx.graphics, javafx.fxml;
@@ -14,4 +15,7 @@ module com.hanoi {
     exports com.hanoi.controller;
     exports com.hanoi.model;
     exports com.hanoi.db;
+    exports com.hanoi.util;
+    exports com.hanoi.metrics;
+    exports com.hanoi.server;
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.hanoi.db;
+
+import com.hanoi.db.ScoreStore.ScoreRecord;
+import com.hanoi.db.ScoreStore.ScoreSubmission;
+import com.hanoi.model.Difficulty;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ScoreJournalTest {
+
+    private static final int RECORD = ScoreJournal.RECORD_SIZE;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopenRebuildsEveryIndex() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        List<ScoreRecord> top;
+        List<ScoreRecord> history;
+        try (ScoreJournal journal = new ScoreJournal(file, false)) {
+            journal.addScores(batch("alice", 0));
+            journal.addScores(batch("bob", 10));
+            journal.addScore(new ScoreSubmission(null, Difficulty.HARD, 10, 1023, 100.0));
+            top = journal.getTopScores(10);
+            history = journal.getPlayerHistory("alice", 10);
+        }
+        try (ScoreJournal journal = new ScoreJournal(file, false)) {
+            assertEquals(7, journal.size());
+            assertEquals(top, journal.getTopScores(10));
+            assertEquals(history, journal.getPlayerHistory("alice", 10));
+            assertNull(journal.getTopScores(1).get(0).name());
+            assertEquals(100.0, journal.getBestScore(Difficulty.HARD));
+        }
+    }
+
+    @Test
+    void batchWithACorruptRecordIsDroppedWhole() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        try (ScoreJournal journal = new ScoreJournal(file, false)) {
+            journal.addScores(batch("alice", 0));
+            journal.addScores(batch("bob", 10));
+        }
+        // Flip one name byte in the middle record of the second batch, as a torn write would leave it
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = RECORD + 4L * RECORD + 40;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.put(0, (byte) (b.get(0) ^ 0x55)).clear();
+            channel.write(b, position);
+        }
+        assertRecoversFirstBatch(file);
+    }
+
+    @Test
+    void recordCutShortIsDroppedWithItsBatch() throws IOException {
+        Path file = dir.resolve("scores.journal");
+        try (ScoreJournal journal = new ScoreJournal(file, false)) {
+            journal.addScores(batch("alice", 0));
+            journal.addScores(batch("bob", 10));
+        }
+        // The process died halfway through the second batch's last record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(RECORD + 5L * RECORD + RECORD / 2);
+        }
+        assertRecoversFirstBatch(file);
+    }
+
+    /** Only alice's batch survives, and the space after it is reused without old records coming back. */
+    private static void assertRecoversFirstBatch(Path file) throws IOException {
+        try (ScoreJournal journal = new ScoreJournal(file, false)) {
+            assertEquals(3, journal.size());
+            assertEquals(List.of(), journal.getPlayerHistory("bob", 10));
+            assertEquals(3, journal.getPlayerHistory("alice", 10).size());
+            journal.addScore(new ScoreSubmission("carol", Difficulty.EASY, 3, 7, 100.0));
+        }
+        try (ScoreJournal journal = new ScoreJournal(file, false)) {
+            assertEquals(4, journal.size());
+            assertEquals(List.of(), journal.getPlayerHistory("bob", 10));
+            assertEquals(4, journal.getPlayerHistory("carol", 10).get(0).id());
+        }
+    }
+
+    /** Three games by one player, with scores {@code 50 + offset} to {@code 52 + offset}. */
+    private static List<ScoreSubmission> batch(String name, int offset) {
+        return List.of(
+                new ScoreSubmission(name, Difficulty.EASY, 3, 10, 50.0 + offset),
+                new ScoreSubmission(name, Difficulty.MEDIUM, 4, 20, 51.0 + offset),
+                new ScoreSubmission(name, Difficulty.HARD, 10, 2000, 52.0 + offset));
+    }
+}
\ No newline at end of file
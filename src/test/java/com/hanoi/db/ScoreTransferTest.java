@@ -0,0 +1,109 @@
+package com.hanoi.db;
+
+import com.hanoi.db.DatabaseManager.ScoreRow;
+import com.hanoi.db.ScoreTransfer.Format;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreTransferTest {
+
+    private static final List<ScoreRow> ROWS = List.of(
+            new ScoreRow(0, "alice", "EASY", 3, 7, 100.0, "2024-01-02 03:04:05", new byte[]{1, 2, 3, 4}),
+            new ScoreRow(0, "bob, \"the builder\"\nsecond line", "MEDIUM", 4, 20, 75.0, "2024-01-02 03:04:06", null),
+            new ScoreRow(0, null, "HARD", 10, 1500, 1023.0 / 1500 * 100.0, "2024-01-02 03:04:07", null),
+            new ScoreRow(0, "ünïcødé\ttab", "CUSTOM", 12, 5000, 81.9, "2024-01-02 03:04:08", new byte[]{-1, 0, 127}),
+            new ScoreRow(0, "infinite", "EASY", 3, 0, Double.POSITIVE_INFINITY, "2024-01-02 03:04:09", null));
+
+    @TempDir
+    Path dir;
+
+    private DatabaseManager source;
+    private DatabaseManager target;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        source = DatabaseManager.open("jdbc:sqlite:" + dir.resolve("source.db"), 1);
+        target = DatabaseManager.open("jdbc:sqlite:" + dir.resolve("target.db"), 1);
+        source.importScores(ROWS.iterator(), ScoreTransfer.DEFAULT_CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        source.close();
+        target.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void exportThenImportKeepsEveryRow(Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(ROWS.size(), ScoreTransfer.export(source, format, out));
+        assertEquals(ROWS.size(), ScoreTransfer.importFrom(target, format, new ByteArrayInputStream(out.toByteArray())));
+
+        List<ScoreRow> imported = rows(target);
+        assertEquals(ROWS.size(), imported.size());
+        for (int i = 0; i < ROWS.size(); i++) {
+            assertSameRow(ROWS.get(i), imported.get(i));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void unknownDifficultyIsRejectedBeforeAnythingIsStored(Format format) {
+        String input = format == Format.CSV
+                ? "name,difficulty,disks,moves,score\r\nalice,EASY,3,7,100.0\r\nbob,NIGHTMARE,3,7,100.0\r\n"
+                : "{\"name\":\"alice\",\"difficulty\":\"EASY\",\"disks\":3,\"moves\":7,\"score\":100.0}\n"
+                + "{\"name\":\"bob\",\"difficulty\":\"NIGHTMARE\",\"disks\":3,\"moves\":7,\"score\":100.0}\n";
+        int line = format == Format.CSV ? 3 : 2;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                ScoreTransfer.importFrom(target, format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(e.getMessage().startsWith("Line " + line + ": Unknown difficulty: NIGHTMARE"), e.getMessage());
+        assertTrue(target.getTopScores(10).isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Format.class)
+    void missingNameColumnIsRejected(Format format) {
+        String input = format == Format.CSV
+                ? "difficulty,disks,moves,score\r\nEASY,3,7,100.0\r\n"
+                : "{\"difficulty\":\"EASY\",\"disks\":3,\"moves\":7,\"score\":100.0}\n";
+        int line = format == Format.CSV ? 2 : 1;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                ScoreTransfer.importFrom(target, format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))));
+        assertEquals("Line " + line + ": Missing name", e.getMessage());
+    }
+
+    private static List<ScoreRow> rows(DatabaseManager dbManager) throws Exception {
+        List<ScoreRow> rows = new ArrayList<>();
+        dbManager.exportScores(rows::add);
+        return rows;
+    }
+
+    private static void assertSameRow(ScoreRow expected, ScoreRow actual) {
+        assertEquals(expected.name(), actual.name());
+        assertEquals(expected.difficulty(), actual.difficulty());
+        assertEquals(expected.disks(), actual.disks());
+        assertEquals(expected.moves(), actual.moves());
+        assertEquals(expected.score(), actual.score());
+        assertEquals(expected.date(), actual.date());
+        assertArrayEquals(expected.moveLog(), actual.moveLog(), Arrays.toString(actual.moveLog()));
+    }
+}
\ No newline at end of file
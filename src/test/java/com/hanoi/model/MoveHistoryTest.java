@@ -0,0 +1,148 @@
+package com.hanoi.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveHistoryTest {
+
+    private static final int DISKS = 10;
+    private static final int CAPACITY = MoveHistory.CHECKPOINT_INTERVAL;
+
+    @Test
+    void undoStopsAtTheOldestMoveLeftInTheRing() {
+        GameLogic logic = new GameLogic(DISKS, 3, CAPACITY);
+        play(logic, 300);
+        assertEquals(300 - CAPACITY, logic.getHistoryStart());
+
+        while (logic.undo()) {
+            // back to the start of the history
+        }
+        assertEquals(300 - CAPACITY, logic.getMoves());
+        assertEquals(board(after(300 - CAPACITY)), board(logic));
+    }
+
+    @Test
+    void recordingAfterUndoKeepsOverwrittenMovesOutOfReach() {
+        GameLogic logic = new GameLogic(DISKS, 3, CAPACITY);
+        play(logic, 300);
+        for (int i = 0; i < 250; i++) {
+            assertTrue(logic.undo());
+        }
+        play(logic, 1);
+        assertEquals(51, logic.getMoves());
+        assertEquals(300 - CAPACITY, logic.getHistoryStart());
+        assertFalse(logic.canRedo());
+
+        while (logic.undo()) {
+            // back to the start of the history
+        }
+        assertEquals(300 - CAPACITY, logic.getMoves());
+        assertEquals(board(after(300 - CAPACITY)), board(logic));
+    }
+
+    @Test
+    void startNeverMovesBack() {
+        MoveHistory history = new MoveHistory(3, CAPACITY);
+        BitBoard board = new BitBoard(3, DISKS);
+        history.reset(board);
+        for (int i = 0; i < 3 * CAPACITY; i++) {
+            history.record(Moves.encode(0, 1), board);
+        }
+        long start = history.start();
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            history.undo();
+        }
+        history.record(Moves.encode(0, 1), board);
+        assertEquals(start, history.start());
+        assertThrows(IndexOutOfBoundsException.class, () -> history.moveAt(start - 1));
+    }
+
+    @Test
+    void redoReplaysUndoneMoves() {
+        GameLogic logic = new GameLogic(DISKS, 3, CAPACITY);
+        play(logic, 500);
+        for (int i = 0; i < 40; i++) {
+            assertTrue(logic.undo());
+        }
+        assertEquals(board(after(460)), board(logic));
+        for (int i = 0; i < 40; i++) {
+            assertTrue(logic.redo());
+        }
+        assertFalse(logic.redo());
+        assertEquals(500, logic.getMoves());
+        assertEquals(board(after(500)), board(logic));
+    }
+
+    @Test
+    void jumpsMatchPlayingTheMoves() {
+        GameLogic logic = new GameLogic(DISKS, 3, CAPACITY);
+        play(logic, 1000);
+        long[] targets = {1000, 744, 800, 999, 768, 900, 1000, 745};
+        for (long target : targets) {
+            logic.jumpTo(target);
+            assertEquals(target, logic.getMoves());
+            assertEquals(board(after(target)), board(logic));
+        }
+        assertThrows(IllegalArgumentException.class, () -> logic.jumpTo(743));
+    }
+
+    @Test
+    void logFollowsUndoAndJumps() {
+        GameLogic logic = new GameLogic(DISKS, 3, CAPACITY);
+        play(logic, 200);
+        logic.jumpTo(120);
+        play(logic, 5);
+        assertEquals(125, logic.getMoveLog().size());
+        assertEquals(board(after(125)), board(replay(logic.getMoveLog().toBytes())));
+    }
+
+    /** Plays {@code count} more moves of the optimal solution from wherever the game stands. */
+    private static void play(GameLogic logic, int count) {
+        // Smallest disk cycles 0 -> 2 -> 1 for an odd number of disks, 0 -> 1 -> 2 for an even one
+        int step = DISKS % 2 == 0 ? 1 : 2;
+        for (int i = 0; i < count; i++) {
+            int smallest = logic.pegOf(1);
+            if (logic.getMoves() % 2 == 0) {
+                logic.move(smallest, (smallest + step) % 3);
+            } else {
+                int a = (smallest + 1) % 3;
+                int b = (smallest + 2) % 3;
+                if (logic.canMove(a, b)) {
+                    logic.move(a, b);
+                } else {
+                    logic.move(b, a);
+                }
+            }
+        }
+    }
+
+    private static GameLogic after(long moves) {
+        GameLogic logic = new GameLogic(DISKS);
+        play(logic, (int) moves);
+        return logic;
+    }
+
+    private static GameLogic replay(byte[] bytes) {
+        GameLogic logic = new GameLogic(DISKS);
+        MoveLog.fromBytes(bytes).replay(logic);
+        return logic;
+    }
+
+    /** Each peg bottom to top. */
+    private static String board(GameLogic logic) {
+        StringBuilder sb = new StringBuilder();
+        for (int peg = 0; peg < logic.getPegCount(); peg++) {
+            TowerView tower = logic.getTower(peg);
+            sb.append('[');
+            for (int i = 0; i < tower.size(); i++) {
+                sb.append(tower.get(i)).append(' ');
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file